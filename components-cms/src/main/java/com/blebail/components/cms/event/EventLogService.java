@@ -17,7 +17,7 @@ public class EventLogService extends ResourceService<EventLog, BEventLog, String
     }
 
     public EventLog create(String description) {
-        EventLog eventLog = new EventLog(Id.random(), Instant.now(), description);
+        EventLog eventLog = new EventLog(Id.next(), Instant.now(), description);
         return super.create(eventLog);
     }
 }
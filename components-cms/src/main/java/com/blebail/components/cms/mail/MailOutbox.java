@@ -0,0 +1,37 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.core.mail.Mail;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.inject.Inject;
+
+/**
+ * Stores mails to send in the outbox table, in the transaction of the caller,
+ * so that a mail is sent if and only if the action it notifies is committed.
+ * @see MailOutboxDispatcher
+ */
+@Service
+public class MailOutbox {
+
+    private final MailOutboxRepository repository;
+
+    private final MailOutboxConversion conversion = new MailOutboxConversion();
+
+    @Inject
+    public MailOutbox(MailOutboxRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return the id of the outbox row
+     */
+    @Transactional
+    public String enqueue(Mail mail) {
+        BMailOutbox row = conversion.to(mail);
+        repository.save(row);
+
+        return row.getId();
+    }
+}
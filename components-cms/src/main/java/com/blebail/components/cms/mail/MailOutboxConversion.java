@@ -0,0 +1,86 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.core.mail.Mail;
+import com.blebail.components.core.resource.Conversion;
+import com.blebail.components.core.resource.Id;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Converts mails to pending outbox rows and back, template parameters are stored as JSON.
+ * Optional and java.time parameters are supported, dates are written as ISO-8601 strings.
+ */
+public final class MailOutboxConversion implements Conversion<Mail, BMailOutbox> {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new Jdk8Module())
+            .registerModule(new JavaTimeModule())
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+    private static final TypeReference<HashMap<String, Object>> PARAMETERS_TYPE = new TypeReference<HashMap<String, Object>>() {};
+
+    @Override
+    public Mail from(BMailOutbox bMailOutbox) {
+        Mail.Content content = bMailOutbox.getSubject() != null
+                ? Mail.builder().from(bMailOutbox.getSender()).to(bMailOutbox.getRecipient()).subject(bMailOutbox.getSubject())
+                : Mail.builder().from(bMailOutbox.getSender()).to(bMailOutbox.getRecipient()).noSubject();
+
+        if (bMailOutbox.getRawContent() != null) {
+            return content.rawContent(bMailOutbox.getRawContent()).build();
+        }
+
+        return content.templateName(bMailOutbox.getTemplateName())
+                .parameters(readParameters(bMailOutbox.getParameters()))
+                .build();
+    }
+
+    @Override
+    public BMailOutbox to(Mail mail) {
+        Instant now = Instant.now();
+
+        return new BMailOutbox(
+                0,
+                null,
+                now,
+                null,
+                Id.next(),
+                null,
+                now,
+                mail.isRaw() ? null : writeParameters(mail.parameters()),
+                mail.rawContent(),
+                mail.to(),
+                mail.from(),
+                MailOutboxStatus.PENDING.name(),
+                mail.subject(),
+                mail.templateName());
+    }
+
+    private static Map<String, Object> readParameters(String parameters) {
+        if (parameters == null) {
+            return new HashMap<>();
+        }
+
+        try {
+            return JSON.readValue(parameters, PARAMETERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail parameters are not valid JSON", e);
+        }
+    }
+
+    private static String writeParameters(Map<String, Object> parameters) {
+        try {
+            return JSON.writeValueAsString(parameters != null ? parameters : new HashMap<>());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Mail parameters can't be written as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.core.configuration.Bulkheads;
+import com.blebail.components.core.mail.Mail;
+import com.blebail.components.core.mail.MailFailure;
+import com.blebail.components.core.mail.Mailing;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends the mails of the outbox on the mail bulkhead, batch by batch, a dedicated thread only times the polls.
+ * A poll is skipped while the previous one is still dispatching.
+ * Each batch is claimed, sent through {@link Mailing} and marked as sent.
+ * Failed mails are retried with an exponential backoff, and marked as failed after max attempts.
+ * Sent and failed mails are deleted once older than the retention, by a purge scheduled every purge interval,
+ * much less often than the polls.
+ */
+@Component
+@Profile("mail")
+public class MailOutboxDispatcher implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository repository;
+
+    private final Mailing mailing;
+
+    private final MailOutboxConversion conversion = new MailOutboxConversion();
+
+    private final int batchSize;
+
+    private final Duration pollInterval;
+
+    private final int maxAttempts;
+
+    private final Duration backoff;
+
+    private final Duration lease;
+
+    private final Duration retention;
+
+    private final Duration purgeInterval;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    @Inject
+    public MailOutboxDispatcher(
+            MailOutboxRepository repository,
+            Mailing mailing,
+            @Named(Bulkheads.MAIL) Executor executor,
+            @Value("${blebail.mail.outbox.batchSize:50}") int batchSize,
+            @Value("${blebail.mail.outbox.pollIntervalMs:1000}") long pollIntervalMs,
+            @Value("${blebail.mail.outbox.maxAttempts:5}") int maxAttempts,
+            @Value("${blebail.mail.outbox.backoffMs:1000}") long backoffMs,
+            @Value("${blebail.mail.outbox.leaseMs:60000}") long leaseMs,
+            @Value("${blebail.mail.outbox.retentionMs:604800000}") long retentionMs,
+            @Value("${blebail.mail.outbox.purgeIntervalMs:3600000}") long purgeIntervalMs) {
+        if (batchSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Batch size and max attempts should be greater than 0");
+        }
+
+        if (pollIntervalMs <= 0 || purgeIntervalMs <= 0 || backoffMs < 0 || leaseMs <= 0 || retentionMs < 0) {
+            throw new IllegalArgumentException("Poll and purge intervals and lease should be greater than 0, backoff and retention should be positive");
+        }
+
+        this.repository = Objects.requireNonNull(repository);
+        this.mailing = Objects.requireNonNull(mailing);
+        this.executor = Objects.requireNonNull(executor);
+        this.batchSize = batchSize;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.maxAttempts = maxAttempts;
+        this.backoff = Duration.ofMillis(backoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.retention = Duration.ofMillis(retentionMs);
+        this.purgeInterval = Duration.ofMillis(purgeIntervalMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::schedulePurge, purgeInterval.toMillis(), purgeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Claims and sends a batch of due mails.
+     * @return the number of claimed mails
+     */
+    public int dispatch() {
+        Instant now = Instant.now();
+        Collection<BMailOutbox> rows = repository.claim(batchSize, now, lease);
+
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<Mail, BMailOutbox> rowsByMail = new IdentityHashMap<>();
+        List<Mail> mails = new ArrayList<>();
+
+        for (BMailOutbox row : rows) {
+            try {
+                Mail mail = conversion.from(row);
+                rowsByMail.put(mail, row);
+                mails.add(mail);
+            } catch (IllegalArgumentException e) {
+                repository.markFailed(row.getId(), row.getAttempts() + 1, now, true, error(e));
+            }
+        }
+
+        for (MailFailure failure : mailing.send(mails)) {
+            BMailOutbox row = rowsByMail.remove(failure.mail());
+            int attempts = row.getAttempts() + 1;
+
+            repository.markFailed(row.getId(), attempts, now.plus(backoff(attempts)), attempts >= maxAttempts, error(failure.cause()));
+        }
+
+        List<String> sentIds = new ArrayList<>();
+        rowsByMail.values().forEach(row -> sentIds.add(row.getId()));
+        repository.markSent(sentIds, now);
+
+        return rows.size();
+    }
+
+    /**
+     * Deletes the sent and failed mails older than the retention.
+     * @return the number of deleted mails
+     */
+    public long purge() {
+        return repository.purgeDoneBefore(Instant.now().minus(retention));
+    }
+
+    /**
+     * Dispatches the outbox on the executor, unless the previous poll is still dispatching.
+     */
+    void poll() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    dispatchAll();
+                } finally {
+                    dispatching.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dispatching.set(false);
+            LOGGER.warn("Mail outbox dispatch was rejected by the mail bulkhead, it will be retried on the next poll", e);
+        }
+    }
+
+    /**
+     * Purges the outbox on the executor.
+     */
+    void schedulePurge() {
+        try {
+            executor.execute(() -> {
+                try {
+                    purge();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Mail outbox purge failed, it will be retried on the next purge", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Mail outbox purge was rejected by the mail bulkhead, it will be retried on the next purge", e);
+        }
+    }
+
+    private void dispatchAll() {
+        try {
+            while (dispatch() == batchSize) {
+                LOGGER.debug("Mail outbox batch was full, dispatching the next one right away");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Mail outbox dispatch failed, claimed mails will be retried once their lease is over", e);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String error(Exception e) {
+        return StringUtils.abbreviate(String.valueOf(e.getMessage()), MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,138 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.cms.sql.QMailOutbox;
+import com.blebail.components.core.resource.Id;
+import com.blebail.components.persistence.resource.repository.SpringCrudRepository;
+import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.SQLUpdateClause;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores the mails of the outbox in the mail_outbox table, which applications using the mail profile have to create:
+ * <pre>
+ * CREATE TABLE mail_outbox(
+ *     id VARCHAR(36) NOT NULL,
+ *     creation_date DATETIME NOT NULL,
+ *     sender VARCHAR(255) NOT NULL,
+ *     recipient VARCHAR(255) NOT NULL,
+ *     subject VARCHAR(255),
+ *     template_name VARCHAR(255),
+ *     raw_content VARCHAR(5000),
+ *     parameters VARCHAR(5000),
+ *     status VARCHAR(32) NOT NULL,
+ *     attempts INT NOT NULL,
+ *     next_attempt_date DATETIME NOT NULL,
+ *     claim_token VARCHAR(36),
+ *     last_error VARCHAR(1000),
+ *     done_date DATETIME
+ * );
+ *
+ * ALTER TABLE mail_outbox ADD PRIMARY KEY (id);
+ * CREATE INDEX idx_mail_outbox_status_next_attempt_date ON mail_outbox (status, next_attempt_date);
+ * </pre>
+ * The index serves the claims, which look up pending mails by next attempt date.
+ */
+@Transactional
+@Component
+public class MailOutboxRepository extends SpringCrudRepository<QMailOutbox, BMailOutbox, String> {
+
+    @Inject
+    public MailOutboxRepository(SQLQueryFactory queryFactory) {
+        super(new IdentifiableQDSLResource<>(QMailOutbox.mailOutbox, QMailOutbox.mailOutbox.id, BMailOutbox::getId), queryFactory);
+    }
+
+    /**
+     * Claims up to batch size pending mails due at now, oldest first, for the lease duration.
+     * Claiming pushes the next attempt date of the mails past the lease, with a conditional update:
+     * concurrent dispatchers skip the mails claimed by another one, and mails of a dispatcher that died are claimable again once the lease is over.
+     * @return the claimed mails
+     */
+    @Transactional
+    public Collection<BMailOutbox> claim(int batchSize, Instant now, Duration lease) {
+        List<String> dueIds = queryFactory.select(table.id)
+                .from(table)
+                .where(table.status.eq(MailOutboxStatus.PENDING.name()), table.nextAttemptDate.loe(now))
+                .orderBy(table.nextAttemptDate.asc())
+                .limit(batchSize)
+                .fetch();
+
+        if (dueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String claimToken = Id.next();
+
+        queryFactory.update(table)
+                .set(table.claimToken, claimToken)
+                .set(table.nextAttemptDate, now.plus(lease))
+                .where(table.id.in(dueIds), table.status.eq(MailOutboxStatus.PENDING.name()), table.nextAttemptDate.loe(now))
+                .execute();
+
+        return queryFactory.selectFrom(table)
+                .where(table.claimToken.eq(claimToken))
+                .orderBy(table.creationDate.asc())
+                .fetch();
+    }
+
+    /**
+     * Marks mails as sent, their parameters and content are cleared since they may hold tokens.
+     */
+    @Transactional
+    public long markSent(Collection<String> ids, Instant doneDate) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return queryFactory.update(table)
+                .set(table.status, MailOutboxStatus.SENT.name())
+                .set(table.doneDate, doneDate)
+                .setNull(table.parameters)
+                .setNull(table.rawContent)
+                .setNull(table.claimToken)
+                .where(table.id.in(ids))
+                .execute();
+    }
+
+    /**
+     * Records a failed attempt, the mail is retried at the next attempt date,
+     * or marked as failed when given up, its parameters and content are then cleared.
+     */
+    @Transactional
+    public boolean markFailed(String id, int attempts, Instant nextAttemptDate, boolean givenUp, String error) {
+        SQLUpdateClause update = queryFactory.update(table)
+                .set(table.status, givenUp ? MailOutboxStatus.FAILED.name() : MailOutboxStatus.PENDING.name())
+                .set(table.attempts, attempts)
+                .set(table.nextAttemptDate, nextAttemptDate)
+                .set(table.lastError, error)
+                .setNull(table.claimToken);
+
+        if (givenUp) {
+            update.set(table.doneDate, nextAttemptDate)
+                    .setNull(table.parameters)
+                    .setNull(table.rawContent);
+        }
+
+        return update.where(table.id.eq(id)).execute() > 0;
+    }
+
+    /**
+     * Deletes the sent and failed mails done before a date.
+     * @return the number of deleted mails
+     */
+    @Transactional
+    public long purgeDoneBefore(Instant date) {
+        return queryFactory.delete(table)
+                .where(table.status.in(MailOutboxStatus.SENT.name(), MailOutboxStatus.FAILED.name()), table.doneDate.lt(date))
+                .execute();
+    }
+}
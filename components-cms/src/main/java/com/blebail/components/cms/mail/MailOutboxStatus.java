@@ -0,0 +1,8 @@
+package com.blebail.components.cms.mail;
+
+public enum MailOutboxStatus {
+
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -33,7 +33,7 @@ public class AccountDetailsService {
         AccountEncryption accountEncryption = new AccountEncryption(signUpRequest.username, signUpRequest.clearPassword);
 
         return accountService.create(new Account(
-                Id.random(),
+                Id.next(),
                 Instant.now(),
                 signUpRequest.username,
                 signUpRequest.email,
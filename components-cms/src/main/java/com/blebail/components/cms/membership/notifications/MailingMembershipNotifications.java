@@ -1,120 +1,149 @@
 package com.blebail.components.cms.membership.notifications;
 
 import com.blebail.components.cms.credentials.account.Account;
-import com.blebail.components.core.mail.Mailing;
+import com.blebail.components.cms.mail.MailOutbox;
 import com.blebail.components.core.mail.Mail;
+import com.blebail.components.core.mail.MailTemplates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Profile;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import javax.inject.Inject;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Notifies members by mail, mails are stored in the outbox within the membership action transaction and sent afterwards.
+ * Invalid mails are logged and skipped, but outbox failures are thrown so that the membership action is rolled back.
+ * Templates are preloaded at startup and subjects are looked up once.
+ */
 @Service
 @Profile("mail")
-public class MailingMembershipNotifications implements MembershipNotifications {
+public class MailingMembershipNotifications implements MembershipNotifications, InitializingBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MailingMembershipNotifications.class);
+
+    private static final List<String> TEMPLATE_NAMES = Arrays.asList("signUp", "activate", "newPassword", "resetPassword");
+
+    private final Map<String, String> subjects = new ConcurrentHashMap<>();
     
     @Value("${blebail.mail.from}")
     private String from;
     
     @Inject
-    protected Mailing mails;
+    protected MailOutbox outbox;
 
     @Inject
     protected MessageSource messages;
+
+    @Inject
+    protected MailTemplates templates;
+
+    @Override
+    public void afterPropertiesSet() {
+        templates.preload(TEMPLATE_NAMES);
+    }
     
-    @Async
     @Override
     public void signUp(final Account account) {
         Map<String, Object> parameters = addAccountParameters(account);
         
+        Mail mail;
+
         try {
-            Mail mail =
-                Mail.builder()
-                .from(from)
-                .to(account.email)
-                .subject(messages.getMessage("membership.mail.signup.subject", null, Locale.getDefault()))
-                .templateName("signUp")
-                .parameters(parameters)
-                .build();
-                
-                mails.send(mail);
+            mail = Mail.builder()
+                    .from(from)
+                    .to(account.email)
+                    .subject(subject("membership.mail.signup.subject"))
+                    .templateName("signUp")
+                    .parameters(parameters)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOGGER.error(String.format("Sign up mail for account %s was invalid", account), e);
+            return;
         }
+
+        outbox.enqueue(mail);
     }
 
-    @Async
     @Override
     public void activate(final Account account) {
         Map<String, Object> parameters = addAccountParameters(account);
         
+        Mail mail;
+
         try {
-            Mail mail = 
-                Mail.builder()
-                .from(from)
-                .to(account.email)
-                .subject(messages.getMessage("membership.mail.activate.subject", null, Locale.getDefault()))
-                .templateName("activate")
-                .parameters(parameters)
-                .build();
-            
-            mails.send(mail);
+            mail = Mail.builder()
+                    .from(from)
+                    .to(account.email)
+                    .subject(subject("membership.mail.activate.subject"))
+                    .templateName("activate")
+                    .parameters(parameters)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOGGER.error(String.format("Activate mail for account %s was invalid", account), e);
+            return;
         }
+
+        outbox.enqueue(mail);
     }
 
-    @Async
     @Override
     public void newPassword(final Account account) {
         Map<String, Object> parameters = addAccountParameters(account);
         
+        Mail mail;
+
         try {
-            Mail mail = 
-                Mail.builder()
-                .from(from)
-                .to(account.email)
-                .subject(messages.getMessage("membership.mail.newPassword.subject", null, Locale.getDefault()))
-                .templateName("newPassword")
-                .parameters(parameters)
-                .build();
-            
-            mails.send(mail);
+            mail = Mail.builder()
+                    .from(from)
+                    .to(account.email)
+                    .subject(subject("membership.mail.newPassword.subject"))
+                    .templateName("newPassword")
+                    .parameters(parameters)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOGGER.error(String.format("New password mail for account %s was invalid", account), e);
+            return;
         }
+
+        outbox.enqueue(mail);
     }
 
-    @Async
     @Override
     public void resetPassword(final Account account) {
         Map<String, Object> parameters = addAccountParameters(account);
         
+        Mail mail;
+
         try {
-            Mail mail = 
-                Mail.builder()
-                .from(from)
-                .to(account.email)
-                .subject(messages.getMessage("membership.mail.resetPassword.subject", null, Locale.getDefault()))
-                .templateName("resetPassword")
-                .parameters(parameters)
-                .build();
-            
-            mails.send(mail);
+            mail = Mail.builder()
+                    .from(from)
+                    .to(account.email)
+                    .subject(subject("membership.mail.resetPassword.subject"))
+                    .templateName("resetPassword")
+                    .parameters(parameters)
+                    .build();
         } catch (IllegalArgumentException e) {
             LOGGER.error(String.format("Reset password mail for account %s was invalid", account), e);
+            return;
         }
+
+        outbox.enqueue(mail);
     }
     
+    private String subject(final String key) {
+        return subjects.computeIfAbsent(key, subjectKey -> messages.getMessage(subjectKey, null, Locale.getDefault()));
+    }
+
     private Map<String, Object> addAccountParameters(final Account account) {
         Map<String, Object> accountParameters = new HashMap<>();
         
@@ -67,12 +67,16 @@ public class NewsService extends ResourceService<News, BNews, String, NewsReposi
         existingNews.setRenderedContent(news.renderedContent);
         existingNews.setSource(news.source);
 
-        return conversion.from(repository.save(existingNews));
-}
+        BNews updatedNews = repository.save(existingNews);
+        invalidatePages();
+
+        return conversion.from(updatedNews);
+    }
 
     @Override
     public boolean delete(String id) {
         boolean deleted = repository.delete(id);
+        invalidatePages();
 
         eventLogService.create(String.format("The news %s has been deleted", id));
 
@@ -87,6 +91,7 @@ public class NewsService extends ResourceService<News, BNews, String, NewsReposi
         existingNews.setPublicationDate(status == PublicationStatus.PUBLISHED ? Instant.now() : null);
 
         News updatedNews = conversion.from(repository.save(existingNews));
+        invalidatePages();
 
         switch (status) {
             case DRAFT: eventLogService.create(String.format("The news %s has been put in draft", id));
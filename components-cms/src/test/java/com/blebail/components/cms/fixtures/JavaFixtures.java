@@ -95,6 +95,19 @@ public final class JavaFixtures {
         );
     }
 
+    public static Operation mail_outbox() {
+        return sequenceOf(
+                Operations.deleteAllFrom("mail_outbox"),
+                Operations.insertInto("mail_outbox")
+                        .columns("id", "creation_date", "sender", "recipient", "subject", "template_name", "raw_content", "parameters", "status", "attempts", "next_attempt_date")
+                        .values("MAIL1", "2017-01-01 12:00:00", "noreply@blebail.com", "admin@blebail.com", "Welcome", "signUp", null, "{\"userName\":\"admin\"}", "PENDING", 0, "2017-01-01 12:00:00")
+                        .values("MAIL2", "2017-01-01 12:01:00", "noreply@blebail.com", "john@blebail.com", "Hello", null, "<h1>Hello</h1>", null, "PENDING", 1, "2017-01-01 12:01:00")
+                        .values("MAIL3", "2017-01-01 12:02:00", "noreply@blebail.com", "john@blebail.com", "Later", null, "<h1>Later</h1>", null, "PENDING", 0, "2100-01-01 12:00:00")
+                        .values("MAIL4", "2017-01-01 12:03:00", "noreply@blebail.com", "john@blebail.com", "Sent", null, "<h1>Sent</h1>", null, "SENT", 1, "2017-01-01 12:03:00")
+                        .build()
+        );
+    }
+
     public static Object fixtureDate(Instant instant) {
         return instant == null ? null : instant.atOffset(ZoneOffset.UTC);
     }
@@ -0,0 +1,68 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.core.mail.Mail;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class MailOutboxConversionTest {
+
+    private final MailOutboxConversion tested = new MailOutboxConversion();
+
+    @Test
+    public void shouldConvertTemplatedMailToPendingRowAndBack() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("userName", "john");
+        Mail mail = Mail.builder()
+                .from("noreply@blebail.com")
+                .to("john@blebail.com")
+                .subject("Welcome")
+                .templateName("signUp")
+                .parameters(parameters)
+                .build();
+
+        BMailOutbox row = tested.to(mail);
+
+        assertThat(row.getId()).isNotBlank();
+        assertThat(row.getStatus()).isEqualTo(MailOutboxStatus.PENDING.name());
+        assertThat(row.getAttempts()).isEqualTo(0);
+        assertThat(row.getNextAttemptDate()).isEqualTo(row.getCreationDate());
+        assertThat(tested.from(row)).isEqualTo(mail);
+    }
+
+    @Test
+    public void shouldWriteDateAndOptionalParametersAsJson() {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("expirationDate", Instant.parse("2020-01-01T10:00:00Z"));
+        parameters.put("nickname", Optional.of("johnny"));
+        Mail mail = Mail.builder()
+                .from("noreply@blebail.com")
+                .to("john@blebail.com")
+                .subject("Welcome")
+                .templateName("signUp")
+                .parameters(parameters)
+                .build();
+
+        Map<String, Object> readParameters = tested.from(tested.to(mail)).parameters();
+
+        assertThat(readParameters).containsEntry("expirationDate", "2020-01-01T10:00:00Z").containsEntry("nickname", "johnny");
+    }
+
+    @Test
+    public void shouldConvertRawMailToPendingRowAndBack() {
+        Mail mail = Mail.builder()
+                .from("noreply@blebail.com")
+                .to("john@blebail.com")
+                .noSubject()
+                .rawContent("<h1>Hello</h1>")
+                .build();
+
+        assertThat(tested.from(tested.to(mail))).isEqualTo(mail);
+    }
+}
@@ -0,0 +1,152 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.components.core.mail.Mail;
+import com.blebail.components.core.mail.MailFailure;
+import com.blebail.components.core.mail.Mailing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public final class MailOutboxDispatcherTest {
+
+    private MailOutboxRepository repositoryMock;
+
+    private Mailing mailingMock;
+
+    private MailOutboxDispatcher tested;
+
+    @BeforeEach
+    void setUp() {
+        repositoryMock = mock(MailOutboxRepository.class);
+        mailingMock = mock(Mailing.class);
+
+        tested = new MailOutboxDispatcher(repositoryMock, mailingMock, Runnable::run, 10, 1000, 3, 1000, 60000, 3600000, 600000);
+    }
+
+    @Test
+    public void shouldDispatchOnTheExecutor_andSkipPollsWhileDispatching() {
+        List<Runnable> tasks = new ArrayList<>();
+        MailOutboxDispatcher dispatcher = new MailOutboxDispatcher(repositoryMock, mailingMock, tasks::add, 10, 1000, 3, 1000, 60000, 3600000, 600000);
+        doReturn(Collections.emptyList()).when(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+
+        dispatcher.poll();
+        dispatcher.poll();
+
+        assertThat(tasks).hasSize(1);
+        verify(repositoryMock, never()).claim(anyInt(), any(Instant.class), any(Duration.class));
+
+        tasks.get(0).run();
+        dispatcher.poll();
+
+        assertThat(tasks).hasSize(2);
+        verify(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+        verify(repositoryMock, never()).purgeDoneBefore(any(Instant.class));
+    }
+
+    @Test
+    public void shouldPurgeOnTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        MailOutboxDispatcher dispatcher = new MailOutboxDispatcher(repositoryMock, mailingMock, tasks::add, 10, 1000, 3, 1000, 60000, 3600000, 600000);
+
+        dispatcher.schedulePurge();
+
+        assertThat(tasks).hasSize(1);
+        verify(repositoryMock, never()).purgeDoneBefore(any(Instant.class));
+
+        tasks.get(0).run();
+
+        verify(repositoryMock).purgeDoneBefore(any(Instant.class));
+    }
+
+    @Test
+    public void shouldNotSendAnything_whenNoMailIsDue() {
+        doReturn(Collections.emptyList()).when(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+
+        assertThat(tested.dispatch()).isEqualTo(0);
+
+        verify(mailingMock, never()).send(anyCollection());
+    }
+
+    @Test
+    public void shouldMarkClaimedMailsAsSent_whenTheyAreSent() {
+        doReturn(Arrays.asList(row("MAIL1", 0), row("MAIL2", 0))).when(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+        doReturn(Collections.emptyList()).when(mailingMock).send(anyCollection());
+
+        assertThat(tested.dispatch()).isEqualTo(2);
+
+        verify(repositoryMock).markSent(eq(Arrays.asList("MAIL1", "MAIL2")), any(Instant.class));
+    }
+
+    @Test
+    public void shouldRetryFailedMailsLater_andMarkTheOthersAsSent() {
+        doReturn(Arrays.asList(row("MAIL1", 0), row("MAIL2", 0))).when(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+        failFirstMail();
+
+        tested.dispatch();
+
+        verify(repositoryMock).markFailed(eq("MAIL1"), eq(1), any(Instant.class), eq(false), eq("Connection refused"));
+        verify(repositoryMock).markSent(eq(Collections.singletonList("MAIL2")), any(Instant.class));
+        verify(repositoryMock, never()).markFailed(eq("MAIL2"), anyInt(), any(Instant.class), anyBoolean(), anyString());
+    }
+
+    @Test
+    public void shouldGiveUpOnMail_whenMaxAttemptsIsReached() {
+        doReturn(Collections.singletonList(row("MAIL1", 2))).when(repositoryMock).claim(eq(10), any(Instant.class), any(Duration.class));
+        failFirstMail();
+
+        tested.dispatch();
+
+        verify(repositoryMock).markFailed(eq("MAIL1"), eq(3), any(Instant.class), eq(true), eq("Connection refused"));
+        verify(repositoryMock).markSent(eq(Collections.emptyList()), any(Instant.class));
+    }
+
+    @Test
+    public void shouldPurgeMailsDoneBeforeTheRetention() {
+        doReturn(3L).when(repositoryMock).purgeDoneBefore(any(Instant.class));
+        Instant before = Instant.now();
+
+        assertThat(tested.purge()).isEqualTo(3);
+
+        ArgumentCaptor<Instant> date = ArgumentCaptor.forClass(Instant.class);
+        verify(repositoryMock).purgeDoneBefore(date.capture());
+        assertThat(date.getValue()).isBetween(before.minus(Duration.ofHours(1)), Instant.now().minus(Duration.ofHours(1)));
+    }
+
+    private void failFirstMail() {
+        doAnswer(invocation -> {
+            Collection<Mail> mails = invocation.getArgument(0);
+            Mail first = mails.iterator().next();
+            List<MailFailure> failures = Collections.singletonList(new MailFailure(first, new IllegalStateException("Connection refused")));
+            return failures;
+        }).when(mailingMock).send(anyCollection());
+    }
+
+    private static BMailOutbox row(String id, int attempts) {
+        Instant now = Instant.now();
+
+        return new BMailOutbox(attempts, "CLAIM", now, null, id, null, now, null, "<h1>Hello</h1>", "john@blebail.com", "noreply@blebail.com",
+                MailOutboxStatus.PENDING.name(), "Hello", null);
+    }
+}
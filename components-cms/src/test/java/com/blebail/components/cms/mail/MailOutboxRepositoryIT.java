@@ -0,0 +1,126 @@
+package com.blebail.components.cms.mail;
+
+import com.blebail.components.cms.fixtures.JavaFixtures;
+import com.blebail.components.cms.sql.BMailOutbox;
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public class MailOutboxRepositoryIT {
+
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Inject
+    private MailOutboxRepository tested;
+
+    @RegisterExtension
+    public static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    public SqlFixture dbFixture = new SqlFixture(sqlMemoryDb::dataSource, JavaFixtures.mail_outbox());
+
+    @Test
+    public void shouldClaimDuePendingMails_oldestFirst() {
+        Collection<BMailOutbox> claimed = tested.claim(10, now(), LEASE);
+
+        assertThat(claimed).extracting(BMailOutbox::getId).containsExactly("MAIL1", "MAIL2");
+    }
+
+    @Test
+    public void shouldClaimAtMostBatchSizeMails() {
+        assertThat(tested.claim(1, now(), LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL1");
+    }
+
+    @Test
+    public void shouldNotClaimMailsTwice_whileTheirLeaseIsNotOver() {
+        Instant now = now();
+        tested.claim(10, now, LEASE);
+
+        assertThat(tested.claim(10, now, LEASE)).isEmpty();
+        assertThat(tested.claim(10, now.plus(LEASE), LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL1", "MAIL2");
+    }
+
+    @Test
+    public void shouldNotClaimSentMails() {
+        tested.markSent(Collections.singletonList("MAIL1"), now());
+
+        assertThat(tested.claim(10, now(), LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL2");
+        assertThat(tested.findOne("MAIL1").get().getStatus()).isEqualTo(MailOutboxStatus.SENT.name());
+    }
+
+    @Test
+    public void shouldRetryFailedMailAtNextAttemptDate() {
+        Instant now = now();
+        Instant nextAttemptDate = now.plusSeconds(10);
+
+        tested.markFailed("MAIL1", 1, nextAttemptDate, false, "Connection refused");
+
+        BMailOutbox mail = tested.findOne("MAIL1").get();
+        assertThat(mail.getStatus()).isEqualTo(MailOutboxStatus.PENDING.name());
+        assertThat(mail.getAttempts()).isEqualTo(1);
+        assertThat(mail.getLastError()).isEqualTo("Connection refused");
+        assertThat(tested.claim(10, now, LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL2");
+        assertThat(tested.claim(10, nextAttemptDate, LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL1");
+    }
+
+    @Test
+    public void shouldNotClaimMailsGivenUp() {
+        tested.markFailed("MAIL1", 5, now(), true, "Mailbox unavailable");
+
+        assertThat(tested.findOne("MAIL1").get().getStatus()).isEqualTo(MailOutboxStatus.FAILED.name());
+        assertThat(tested.claim(10, now(), LEASE)).extracting(BMailOutbox::getId).containsExactly("MAIL2");
+    }
+
+    @Test
+    public void shouldClearParametersAndContent_whenMailIsSent() {
+        tested.markSent(Collections.singletonList("MAIL1"), now());
+
+        BMailOutbox mail = tested.findOne("MAIL1").get();
+        assertThat(mail.getParameters()).isNull();
+        assertThat(mail.getRawContent()).isNull();
+        assertThat(mail.getDoneDate()).isNotNull();
+    }
+
+    @Test
+    public void shouldClearParametersAndContent_whenMailIsGivenUp() {
+        tested.markFailed("MAIL2", 5, now(), true, "Mailbox unavailable");
+
+        BMailOutbox mail = tested.findOne("MAIL2").get();
+        assertThat(mail.getParameters()).isNull();
+        assertThat(mail.getRawContent()).isNull();
+    }
+
+    @Test
+    public void shouldPurgeOnlyMailsDoneBeforeTheDate() {
+        Instant now = now();
+        tested.markSent(Collections.singletonList("MAIL1"), now.minus(Duration.ofDays(10)));
+        tested.markFailed("MAIL2", 5, now.minus(Duration.ofDays(10)), true, "Mailbox unavailable");
+        tested.markSent(Collections.singletonList("MAIL3"), now);
+
+        assertThat(tested.purgeDoneBefore(now.minus(Duration.ofDays(7)))).isEqualTo(2);
+
+        assertThat(tested.exists("MAIL1")).isFalse();
+        assertThat(tested.exists("MAIL2")).isFalse();
+        assertThat(tested.exists("MAIL3")).isTrue();
+        assertThat(tested.exists("MAIL4")).isTrue();
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
@@ -71,3 +71,25 @@ CREATE TABLE country(
 
 ALTER TABLE country ADD PRIMARY KEY (code);
 
+
+DROP TABLE IF EXISTS mail_outbox;
+
+CREATE TABLE mail_outbox(
+    id VARCHAR(36) NOT NULL,
+    creation_date DATETIME NOT NULL,
+    sender VARCHAR(255) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255),
+    template_name VARCHAR(255),
+    raw_content VARCHAR(5000),
+    parameters VARCHAR(5000),
+    status VARCHAR(32) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_date DATETIME NOT NULL,
+    claim_token VARCHAR(36),
+    last_error VARCHAR(1000),
+    done_date DATETIME
+);
+
+ALTER TABLE mail_outbox ADD PRIMARY KEY (id);
+CREATE INDEX idx_mail_outbox_status_next_attempt_date ON mail_outbox (status, next_attempt_date);
@@ -0,0 +1,78 @@
+package com.blebail.components.core.async;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A named thread pool isolating a kind of work, such as mail sending or image compression, from the others,
+ * so that a burst of it saturates its own threads and queue only.
+ * Publishes, tagged with its name, the time tasks wait in the queue and run, its active threads, queue size and rejected tasks.
+ */
+public class Bulkhead extends ThreadPoolTaskExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "java-components-bulkhead-";
+
+    private final String name;
+
+    public Bulkhead(String name, int coreSize, int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy, MeterRegistry registry) {
+        if (coreSize <= 0 || maxSize < coreSize) {
+            throw new IllegalArgumentException("Core size should be greater than 0 and max size at least the core size");
+        }
+
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("Queue capacity should be positive");
+        }
+
+        this.name = name;
+
+        Timer queueWait = Timer.builder("blebail.bulkhead.queue.wait").tag("name", name).register(registry);
+        Timer execution = Timer.builder("blebail.bulkhead.execution").tag("name", name).register(registry);
+        Counter rejected = Counter.builder("blebail.bulkhead.rejected").tag("name", name).register(registry);
+
+        setCorePoolSize(coreSize);
+        setMaxPoolSize(maxSize);
+        setQueueCapacity(queueCapacity);
+        setThreadNamePrefix(THREAD_NAME_PREFIX + name + "-");
+        setTaskDecorator(task -> {
+            long submittedAt = System.nanoTime();
+
+            return () -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+                try {
+                    task.run();
+                } finally {
+                    execution.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+        setRejectedExecutionHandler((task, executor) -> {
+            rejected.increment();
+            rejectionPolicy.handler().rejectedExecution(task, executor);
+        });
+
+        Gauge.builder("blebail.bulkhead.active", this, Bulkhead::getActiveCount).tag("name", name).register(registry);
+        Gauge.builder("blebail.bulkhead.queue.size", this, Bulkhead::queueSize).tag("name", name).register(registry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int queueSize() {
+        try {
+            ThreadPoolExecutor executor = getThreadPoolExecutor();
+
+            return executor.getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.blebail.components.core.async;
+
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The bulkheads of the application by name, for code choosing one at runtime rather than by qualifier.
+ * A bulkhead is a {@link Bulkhead} pool, or a concurrency limited virtual thread executor in the virtual thread pool mode.
+ */
+public class BulkheadRegistry {
+
+    private final Map<String, TaskExecutor> bulkheads;
+
+    public BulkheadRegistry(Map<String, ? extends TaskExecutor> bulkheads) {
+        this.bulkheads = new LinkedHashMap<>(bulkheads);
+    }
+
+    public TaskExecutor get(String name) {
+        TaskExecutor bulkhead = bulkheads.get(name);
+
+        if (bulkhead == null) {
+            throw new NoSuchElementException("No bulkhead named " + name);
+        }
+
+        return bulkhead;
+    }
+
+    public Collection<TaskExecutor> all() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+}
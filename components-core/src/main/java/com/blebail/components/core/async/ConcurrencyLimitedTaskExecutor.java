@@ -0,0 +1,97 @@
+package com.blebail.components.core.async;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits how many tasks run at once with a semaphore rather than with a number of threads:
+ * tasks are handed to the delegate right away and wait for a permit on their own thread.
+ * Meant for thread-per-task executors, with virtual threads waiting costs no platform thread.
+ * A task whose thread is interrupted while waiting is not run: executed tasks then throw a TaskRejectedException
+ * on their thread, and the futures of submitted tasks complete with it.
+ */
+public class ConcurrencyLimitedTaskExecutor implements AsyncTaskExecutor {
+
+    private final TaskExecutor delegate;
+
+    private final Semaphore permits;
+
+    public ConcurrencyLimitedTaskExecutor(TaskExecutor delegate, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency should be greater than 0");
+        }
+
+        this.delegate = Objects.requireNonNull(delegate);
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(() -> {
+            acquire();
+
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    @Override
+    public void execute(Runnable task, long startTimeout) {
+        execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        delegate.execute(() -> {
+            try {
+                acquire();
+            } catch (TaskRejectedException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                permits.release();
+            }
+        });
+
+        return result;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for a permit, the task was not run", e);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.blebail.components.core.async;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public final class Futures {
@@ -19,17 +28,212 @@ public final class Futures {
         );
     }
 
+    /**
+     * Completes, without blocking, once every future is done, with the values of the successful ones in order.
+     */
     public static <T> CompletableFuture<List<T>> concatOnlySuccessful(List<CompletableFuture<T>> futuresList) {
-        List<T> results = new LinkedList<>();
+        return settled(futuresList).thenApply(v ->
+                futuresList.stream()
+                        .filter(future -> !future.isCompletedExceptionally())
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Completes once every future is done or when the deadline is reached, whichever comes first,
+     * with the values and errors of the futures done by then and the futures still running.
+     */
+    public static <T> CompletableFuture<PartialResults<T>> concatAllWithin(List<CompletableFuture<T>> futuresList, Duration deadline) {
+        return settled(futuresList)
+                .completeOnTimeout(null, deadline.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(v -> {
+                    List<T> successful = new ArrayList<>();
+                    List<Throwable> failures = new ArrayList<>();
+                    List<CompletableFuture<T>> timedOut = new ArrayList<>();
+
+                    for (CompletableFuture<T> future : futuresList) {
+                        if (!future.isDone()) {
+                            timedOut.add(future);
+                            continue;
+                        }
+
+                        try {
+                            successful.add(future.join());
+                        } catch (CompletionException | CancellationException e) {
+                            failures.add(unwrap(e));
+                        }
+                    }
+
+                    return new PartialResults<>(successful, failures, timedOut);
+                });
+    }
+
+    /**
+     * Completes with the values of every future in order, or as soon as one fails with its error,
+     * the other futures are then cancelled.
+     */
+    public static <T> CompletableFuture<List<T>> concatAllFailFast(List<CompletableFuture<T>> futuresList) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+
+        futuresList.forEach(future -> future.whenComplete((value, error) -> {
+            if (error != null && result.completeExceptionally(unwrap(error))) {
+                futuresList.forEach(sibling -> sibling.cancel(true));
+            }
+        }));
+
+        concatAll(futuresList).thenAccept(result::complete);
+
+        return result;
+    }
+
+    /**
+     * Completes with the value of the first future to succeed, or with a NoSuchElementException if they all fail.
+     */
+    public static <T> CompletableFuture<T> anyOf(List<CompletableFuture<T>> futuresList) {
+        return firstSuccessful(futuresList, 1).thenApply(values -> values.get(0));
+    }
+
+    /**
+     * Completes with the values of the first count futures to succeed, in completion order,
+     * or with a NoSuchElementException once too many futures failed to reach count.
+     */
+    public static <T> CompletableFuture<List<T>> firstSuccessful(List<CompletableFuture<T>> futuresList, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count should be greater than 0");
+        }
+
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        List<T> values = new ArrayList<>(count);
+        AtomicInteger remaining = new AtomicInteger(futuresList.size());
+
+        if (futuresList.size() < count) {
+            result.completeExceptionally(new NoSuchElementException("Not enough futures to get " + count + " values"));
+            return result;
+        }
+
+        futuresList.forEach(future -> future.whenComplete((value, error) -> {
+            synchronized (values) {
+                if (error == null && values.size() < count) {
+                    values.add(value);
+
+                    if (values.size() == count) {
+                        result.complete(Collections.unmodifiableList(new ArrayList<>(values)));
+                    }
+                }
+            }
+
+            if (remaining.decrementAndGet() == 0) {
+                result.completeExceptionally(new NoSuchElementException("Less than " + count + " futures succeeded"));
+            }
+        }));
+
+        return result;
+    }
+
+    /**
+     * Maps items asynchronously with at most maxInFlight mappings running at once,
+     * completes with the mapped values in the items order, or with the first error, no mapping is started after an error.
+     */
+    public static <T, R> CompletableFuture<List<R>> mapAsync(List<T> items, Function<T, CompletableFuture<R>> mapping, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight should be greater than 0");
+        }
+
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        BoundedMapping<T, R> boundedMapping = new BoundedMapping<>(new ArrayList<>(items), mapping);
+
+        for (int i = 0; i < Math.min(maxInFlight, items.size()); i++) {
+            boundedMapping.mapNext();
+        }
+
+        return boundedMapping.result;
+    }
+
+    private static CompletableFuture<Void> settled(List<? extends CompletableFuture<?>> futuresList) {
+        return CompletableFuture.allOf(futuresList.stream()
+                .map(future -> future.handle((value, error) -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static final class BoundedMapping<T, R> {
+
+        private final List<T> items;
+
+        private final Function<T, CompletableFuture<R>> mapping;
+
+        private final AtomicReferenceArray<R> values;
+
+        private final AtomicInteger nextIndex = new AtomicInteger();
 
-        for (CompletableFuture<T> future : futuresList) {
-            try {
-                results.add(future.get());
-            } catch (InterruptedException | ExecutionException e) {
-                continue;
+        private final AtomicInteger remaining;
+
+        private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+
+        private BoundedMapping(List<T> items, Function<T, CompletableFuture<R>> mapping) {
+            this.items = items;
+            this.mapping = mapping;
+            this.values = new AtomicReferenceArray<>(items.size());
+            this.remaining = new AtomicInteger(items.size());
+        }
+
+        /**
+         * Maps items one after the other while their mappings complete immediately,
+         * and resumes from the completion of the first mapping that doesn't.
+         */
+        private void mapNext() {
+            while (!result.isDone()) {
+                int index = nextIndex.getAndIncrement();
+
+                if (index >= items.size()) {
+                    return;
+                }
+
+                CompletableFuture<R> mapped;
+
+                try {
+                    mapped = Objects.requireNonNull(mapping.apply(items.get(index)), "Mapping returned a null future");
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+
+                if (mapped.isDone()) {
+                    mapped.whenComplete((value, error) -> complete(index, value, error));
+                } else {
+                    mapped.whenComplete((value, error) -> {
+                        complete(index, value, error);
+                        mapNext();
+                    });
+                    return;
+                }
             }
         }
 
-        return CompletableFuture.completedFuture(results);
+        private void complete(int index, R value, Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+
+            values.set(index, value);
+
+            if (remaining.decrementAndGet() == 0) {
+                List<R> orderedValues = new ArrayList<>(values.length());
+
+                for (int i = 0; i < values.length(); i++) {
+                    orderedValues.add(values.get(i));
+                }
+
+                result.complete(orderedValues);
+            }
+        }
     }
 }
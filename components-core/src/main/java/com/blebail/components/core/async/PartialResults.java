@@ -0,0 +1,42 @@
+package com.blebail.components.core.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * What a group of futures produced by a deadline: the values of the successful ones,
+ * the errors of the failed ones and the futures that were still running.
+ * @param <T> value type
+ */
+public final class PartialResults<T> {
+
+    private final List<T> successful;
+
+    private final List<Throwable> failures;
+
+    private final List<CompletableFuture<T>> timedOut;
+
+    public PartialResults(List<T> successful, List<Throwable> failures, List<CompletableFuture<T>> timedOut) {
+        this.successful = Collections.unmodifiableList(new ArrayList<>(successful));
+        this.failures = List.copyOf(failures);
+        this.timedOut = List.copyOf(timedOut);
+    }
+
+    public List<T> successful() {
+        return successful;
+    }
+
+    public List<Throwable> failures() {
+        return failures;
+    }
+
+    public List<CompletableFuture<T>> timedOut() {
+        return timedOut;
+    }
+
+    public boolean isComplete() {
+        return timedOut.isEmpty();
+    }
+}
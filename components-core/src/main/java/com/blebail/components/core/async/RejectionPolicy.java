@@ -0,0 +1,35 @@
+package com.blebail.components.core.async;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * What submitting a task to a bulkhead does when its threads are busy and its queue is full.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Throws a RejectedExecutionException to the submitter.
+     */
+    ABORT(new ThreadPoolExecutor.AbortPolicy()),
+
+    /**
+     * Runs the task on the submitting thread, slowing the submitter down.
+     */
+    CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy()),
+
+    /**
+     * Drops the task.
+     */
+    DISCARD(new ThreadPoolExecutor.DiscardPolicy());
+
+    private final RejectedExecutionHandler handler;
+
+    RejectionPolicy(RejectedExecutionHandler handler) {
+        this.handler = handler;
+    }
+
+    RejectedExecutionHandler handler() {
+        return handler;
+    }
+}
@@ -0,0 +1,34 @@
+package com.blebail.components.core.async;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads when the running JVM supports them, the code is compiled for Java 11 and looks them up reflectively.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns a factory of virtual threads named with a prefix and a counter.
+     * @param threadNamePrefix thread name prefix
+     * @return the factory, or empty if the running JVM doesn't support virtual threads
+     */
+    public static Optional<ThreadFactory> factory(String threadNamePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            Method factory = builderClass.getMethod("factory");
+
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = name.invoke(builder, threadNamePrefix, 0L);
+
+            return Optional.of((ThreadFactory) factory.invoke(builder));
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.blebail.components.core.configuration;
+
+import com.blebail.components.core.async.Bulkhead;
+import com.blebail.components.core.async.BulkheadRegistry;
+import com.blebail.components.core.async.RejectionPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configures a bulkhead per kind of background work, services pick one by qualifier, for instance {@code @Named(Bulkheads.MAIL)}.
+ * The mail outbox is dispatched on the mail bulkhead and images are compressed on the image bulkhead.
+ * Each is sized by the blebail.bulkheads.{name}.coreSize, maxSize, queueCapacity and rejectionPolicy properties.
+ * In the virtual thread pool mode, each runs a virtual thread per task instead,
+ * limited by the blebail.threadpool.limits.{name} property, see {@link ThreadPool}.
+ */
+@Configuration
+public class Bulkheads {
+
+    public static final String MAIL = "mailExecutor";
+
+    public static final String IMAGE = "imageExecutor";
+
+    private static final String PROPERTY_PREFIX = "blebail.bulkheads.";
+
+    @Inject
+    private Environment environment;
+
+    private static final String MAIL_NAME = "mail";
+
+    private static final String IMAGE_NAME = "image";
+
+    @Bean(MAIL)
+    public TaskExecutor mailExecutor(ThreadPool threadPool, ObjectProvider<MeterRegistry> registry) {
+        return bulkhead(MAIL_NAME, threadPool, registry);
+    }
+
+    @Bean(IMAGE)
+    public TaskExecutor imageExecutor(ThreadPool threadPool, ObjectProvider<MeterRegistry> registry) {
+        return bulkhead(IMAGE_NAME, threadPool, registry);
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(@Named(MAIL) TaskExecutor mailExecutor, @Named(IMAGE) TaskExecutor imageExecutor) {
+        Map<String, TaskExecutor> bulkheads = new LinkedHashMap<>();
+        bulkheads.put(MAIL_NAME, mailExecutor);
+        bulkheads.put(IMAGE_NAME, imageExecutor);
+
+        return new BulkheadRegistry(bulkheads);
+    }
+
+    private TaskExecutor bulkhead(String name, ThreadPool threadPool, ObjectProvider<MeterRegistry> registry) {
+        return threadPool.virtualThreadExecutor(name).orElseGet(() -> new Bulkhead(name,
+                property(name, "coreSize", Integer.class, 2),
+                property(name, "maxSize", Integer.class, 4),
+                property(name, "queueCapacity", Integer.class, 100),
+                property(name, "rejectionPolicy", RejectionPolicy.class, RejectionPolicy.CALLER_RUNS),
+                registry.getIfAvailable(CompositeMeterRegistry::new)));
+    }
+
+    private <T> T property(String name, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty(PROPERTY_PREFIX + name + "." + key, type, defaultValue);
+    }
+}
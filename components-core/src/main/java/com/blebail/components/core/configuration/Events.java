@@ -0,0 +1,60 @@
+package com.blebail.components.core.configuration;
+
+import com.blebail.components.core.event.AsyncEventBus;
+import com.blebail.components.core.event.DirectEventBus;
+import com.blebail.components.core.event.EventBus;
+import com.blebail.components.core.event.OverloadPolicy;
+import com.blebail.components.core.event.RingBufferEventBus;
+import com.blebail.components.core.event.WaitStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the event bus implementation with the blebail.eventbus.type property: guava (the default), direct, async or ring.
+ * guava and direct deliver on the posting thread with the same semantics, direct calls subscribers without reflection.
+ * async and ring deliver on their own threads, the posting thread doesn't wait for the listeners.
+ */
+@Configuration
+public class Events {
+
+    private static final String TYPE = "blebail.eventbus.type";
+
+    @Value("${blebail.eventbus.partitions:4}")
+    private int partitions;
+
+    @Value("${blebail.eventbus.queueCapacity:1000}")
+    private int queueCapacity;
+
+    @Value("${blebail.eventbus.overloadPolicy:BLOCK}")
+    private OverloadPolicy overloadPolicy;
+
+    @Value("${blebail.eventbus.bufferSize:1024}")
+    private int bufferSize;
+
+    @Value("${blebail.eventbus.waitStrategy:PARK}")
+    private WaitStrategy waitStrategy;
+
+    @Bean
+    @ConditionalOnProperty(name = TYPE, havingValue = "direct")
+    public EventBus directEventBus() {
+        return new DirectEventBus();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = TYPE, havingValue = "async")
+    public EventBus asyncEventBus(ObjectProvider<MeterRegistry> registry) {
+        return new AsyncEventBus(partitions, queueCapacity, overloadPolicy,
+                AsyncEventBus::partitionKey, registry.getIfAvailable(CompositeMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = TYPE, havingValue = "ring")
+    public EventBus ringBufferEventBus() {
+        return new RingBufferEventBus(bufferSize, waitStrategy);
+    }
+}
@@ -0,0 +1,20 @@
+package com.blebail.components.core.configuration;
+
+import com.blebail.components.core.image.ImageDerivatives;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.inject.Named;
+import java.util.concurrent.Executor;
+
+/**
+ * Compresses images on the image bulkhead, so that a burst of uploads doesn't take the threads of other work.
+ */
+@Configuration
+public class Images {
+
+    @Bean
+    public ImageDerivatives imageDerivatives(@Named(Bulkheads.IMAGE) Executor imageExecutor) {
+        return new ImageDerivatives(imageExecutor);
+    }
+}
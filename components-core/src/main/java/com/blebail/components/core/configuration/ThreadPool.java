@@ -1,24 +1,74 @@
 package com.blebail.components.core.configuration;
 
+import com.blebail.components.core.async.ConcurrencyLimitedTaskExecutor;
+import com.blebail.components.core.async.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import javax.inject.Inject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Configures the task executor, either a pool of platform threads (the default mode)
+ * or a virtual thread per task with a semaphore per purpose limiting the concurrency.
+ * Each purpose, the default task executor or a bulkhead name such as mail or image, is limited by blebail.threadpool.limits.{purpose},
+ * or by blebail.threadpool.maxConcurrency if not set.
+ * The virtual mode falls back to the pool of platform threads when the JVM doesn't support virtual threads,
+ * a platform thread per task would not be bounded.
+ */
 @Configuration
 public class ThreadPool {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadPool.class);
+
     private static final String JAVA_COMPONENTS_SPRING_TASK_EXECUTOR_PREFIX = "java-components-spring-task-executor";
 
+    private static final String DEFAULT_PURPOSE = "default";
+
+    private static final String LIMITS_PREFIX = "blebail.threadpool.limits.";
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
     @Value("${blebail.threadpool.coreSize}")
     private int corePoolSize;
 
     @Value("${blebail.threadpool.maxSize}")
     private int maxPoolSize;
 
+    @Value("${blebail.threadpool.mode:PLATFORM}")
+    private Mode mode;
+
+    @Value("${blebail.threadpool.maxConcurrency:256}")
+    private int maxConcurrency;
+
+    @Inject
+    private Environment environment;
+
+    private final Map<String, TaskExecutor> virtualThreadExecutors = new ConcurrentHashMap<>();
+
     @Bean
+    @Primary
     public TaskExecutor taskExecutor() {
+        Optional<TaskExecutor> virtualThreadExecutor = virtualThreadExecutor(DEFAULT_PURPOSE);
+
+        if (virtualThreadExecutor.isPresent()) {
+            return virtualThreadExecutor.get();
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         executor.setCorePoolSize(corePoolSize);
@@ -28,4 +78,38 @@ public class ThreadPool {
 
         return executor;
     }
+
+    /**
+     * Returns the executor of a purpose in the virtual mode, a virtual thread per task limited by the purpose semaphore.
+     * @param purpose the purpose, a bulkhead name for instance
+     * @return the executor, the same one for every call with the purpose, or empty in the platform mode or if the JVM doesn't support virtual threads
+     */
+    public Optional<TaskExecutor> virtualThreadExecutor(String purpose) {
+        if (mode != Mode.VIRTUAL) {
+            return Optional.empty();
+        }
+
+        Optional<ThreadFactory> virtualThreads = VirtualThreads.factory(JAVA_COMPONENTS_SPRING_TASK_EXECUTOR_PREFIX + "-" + purpose + "-");
+
+        if (!virtualThreads.isPresent()) {
+            LOGGER.warn("Virtual threads are not supported by this JVM, {} tasks run on a pool of platform threads", purpose);
+            return Optional.empty();
+        }
+
+        return Optional.of(virtualThreadExecutors.computeIfAbsent(purpose, key -> {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(virtualThreads.get());
+
+            return new ConcurrencyLimitedTaskExecutor(executor, limit(key));
+        }));
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    private int limit(String purpose) {
+        Integer limit = environment != null ? environment.getProperty(LIMITS_PREFIX + purpose, Integer.class) : null;
+
+        return limit != null ? limit : maxConcurrency;
+    }
 }
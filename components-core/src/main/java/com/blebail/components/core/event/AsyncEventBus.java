@@ -0,0 +1,180 @@
+package com.blebail.components.core.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Delivers events on partition threads, the posting thread doesn't wait for the listeners.
+ * Events are assigned a partition by their key, events sharing a key are delivered in the order they were posted,
+ * events without key are spread across partitions.
+ * Each partition queue is bounded, the overload policy tells what happens when it is full.
+ * Listeners are registered once, on a {@link DirectEventBus} shared by the partitions, so that calls to a subscriber method
+ * are serialized across partitions unless it is annotated with {@link com.google.common.eventbus.AllowConcurrentEvents}.
+ */
+public class AsyncEventBus implements EventBus, AutoCloseable {
+
+    private static final String THREAD_NAME_PREFIX = "java-components-event-bus-";
+
+    private final DirectEventBus subscribers = new DirectEventBus();
+
+    private final List<Partition> partitions;
+
+    private final Function<Object, Object> keyExtractor;
+
+    private final OverloadPolicy overloadPolicy;
+
+    private final Timer dispatchTimer;
+
+    private final Counter droppedEvents;
+
+    public AsyncEventBus(int partitionCount, int queueCapacity, OverloadPolicy overloadPolicy) {
+        this(partitionCount, queueCapacity, overloadPolicy, AsyncEventBus::partitionKey, new CompositeMeterRegistry());
+    }
+
+    public AsyncEventBus(int partitionCount,
+                         int queueCapacity,
+                         OverloadPolicy overloadPolicy,
+                         Function<Object, Object> keyExtractor,
+                         MeterRegistry registry) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("Partition count should be greater than 0");
+        }
+
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity should be greater than 0");
+        }
+
+        this.overloadPolicy = Objects.requireNonNull(overloadPolicy);
+        this.keyExtractor = Objects.requireNonNull(keyExtractor);
+        this.dispatchTimer = Timer.builder("blebail.eventbus.dispatch")
+                .description("Time between the post of an event and the end of its delivery")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.droppedEvents = Counter.builder("blebail.eventbus.dropped")
+                .description("Events dropped because their partition queue was full")
+                .register(registry);
+
+        partitions = new ArrayList<>(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = new Partition(i, queueCapacity);
+            Gauge.builder("blebail.eventbus.queue.depth", partition.executor, executor -> executor.getQueue().size())
+                    .description("Events waiting to be delivered")
+                    .tag("partition", String.valueOf(i))
+                    .register(registry);
+            partitions.add(partition);
+        }
+    }
+
+    @Override
+    public void register(Object listener) {
+        subscribers.register(listener);
+    }
+
+    @Override
+    public void unregister(Object listener) {
+        subscribers.unregister(listener);
+    }
+
+    @Override
+    public void post(Object event) {
+        Partition partition = partitionOf(event);
+        long postedAt = System.nanoTime();
+
+        Runnable delivery = () -> {
+            subscribers.post(event);
+            dispatchTimer.record(System.nanoTime() - postedAt, TimeUnit.NANOSECONDS);
+        };
+
+        if (overloadPolicy == OverloadPolicy.BLOCK) {
+            partition.block(delivery);
+            return;
+        }
+
+        try {
+            partition.executor.execute(delivery);
+        } catch (RejectedExecutionException e) {
+            if (partition.executor.isShutdown()) {
+                throw e;
+            }
+
+            if (overloadPolicy == OverloadPolicy.CALLER_RUNS) {
+                delivery.run();
+            } else {
+                droppedEvents.increment();
+            }
+        }
+    }
+
+    /**
+     * Stops the partition threads once the events already posted are delivered.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        partitions.forEach(partition -> partition.executor.shutdown());
+
+        for (Partition partition : partitions) {
+            partition.executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private Partition partitionOf(Object event) {
+        Object key = keyExtractor.apply(event);
+        int index = key != null
+                ? Math.floorMod(key.hashCode(), partitions.size())
+                : ThreadLocalRandom.current().nextInt(partitions.size());
+
+        return partitions.get(index);
+    }
+
+    /**
+     * The default key extractor, the key of partitioned events and no key otherwise.
+     * @param event an event
+     * @return the event key, or null
+     */
+    public static Object partitionKey(Object event) {
+        return event instanceof PartitionedEvent ? ((PartitionedEvent) event).partitionKey() : null;
+    }
+
+    private static final class Partition {
+
+        private final ThreadPoolExecutor executor;
+
+        private Partition(int index, int queueCapacity) {
+            executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.prestartAllCoreThreads();
+        }
+
+        private void block(Runnable delivery) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Event bus is closed");
+            }
+
+            try {
+                executor.getQueue().put(delivery);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to post an event", e);
+            }
+        }
+    }
+}
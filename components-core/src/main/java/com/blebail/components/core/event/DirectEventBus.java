@@ -0,0 +1,231 @@
+package com.blebail.components.core.event;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Delivers events synchronously to the methods annotated with {@link Subscribe}, like {@link GuavaEventBus},
+ * without reflection: a direct call dispatcher is generated for each subscriber method when its listener is registered.
+ * The subscribers of an event class, including the subscribers of its super classes and interfaces,
+ * are flattened in an array the first time an event of this class is posted, then posting is allocation free.
+ * Delivery keeps the semantics of the Guava event bus: calls to a subscriber method are serialized
+ * unless it is annotated with {@link AllowConcurrentEvents}, events posted by a subscriber are queued
+ * and delivered once the current event has been delivered to every subscriber,
+ * and events without subscribers are posted again wrapped in a {@link DeadEvent}.
+ */
+public class DirectEventBus implements EventBus {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectEventBus.class);
+
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    private final Map<Class<?>, List<Subscriber>> subscribersByEventType = new HashMap<>();
+
+    private final Map<Class<?>, Subscriber[]> flattenedSubscribers = new ConcurrentHashMap<>();
+
+    private final Map<Method, BiConsumer<Object, Object>> dispatchers = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<PostingState> postingState = ThreadLocal.withInitial(PostingState::new);
+
+    @Override
+    public synchronized void register(Object listener) {
+        for (Method method : subscriberMethods(listener.getClass())) {
+            BiConsumer<Object, Object> dispatcher = dispatchers.computeIfAbsent(method, DirectEventBus::dispatcher);
+
+            subscribersByEventType
+                    .computeIfAbsent(method.getParameterTypes()[0], eventType -> new ArrayList<>())
+                    .add(new Subscriber(listener, dispatcher, method));
+        }
+
+        flattenedSubscribers.clear();
+    }
+
+    @Override
+    public synchronized void unregister(Object listener) {
+        subscribersByEventType.values().forEach(subscribers -> subscribers.removeIf(subscriber -> subscriber.listener == listener));
+        subscribersByEventType.values().removeIf(List::isEmpty);
+
+        flattenedSubscribers.clear();
+    }
+
+    @Override
+    public void post(Object event) {
+        PostingState state = postingState.get();
+
+        if (state.dispatching) {
+            state.queuedEvents.add(event);
+            return;
+        }
+
+        state.dispatching = true;
+
+        try {
+            dispatch(event);
+
+            Object queuedEvent;
+
+            while ((queuedEvent = state.queuedEvents.poll()) != null) {
+                dispatch(queuedEvent);
+            }
+        } finally {
+            state.queuedEvents.clear();
+            state.dispatching = false;
+        }
+    }
+
+    private void dispatch(Object event) {
+        Subscriber[] subscribers = flattenedSubscribers.get(event.getClass());
+
+        if (subscribers == null) {
+            subscribers = flatten(event.getClass());
+        }
+
+        if (subscribers.length == 0 && !(event instanceof DeadEvent)) {
+            dispatch(new DeadEvent(this, event));
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            try {
+                if (subscriber.concurrent) {
+                    subscriber.dispatcher.accept(subscriber.listener, event);
+                } else {
+                    synchronized (subscriber) {
+                        subscriber.dispatcher.accept(subscriber.listener, event);
+                    }
+                }
+            } catch (Throwable t) {
+                LOGGER.error("Subscriber {} failed to handle event {}", subscriber.method, event, t);
+            }
+        }
+    }
+
+    private synchronized Subscriber[] flatten(Class<?> eventClass) {
+        Subscriber[] flattened = flattenedSubscribers.get(eventClass);
+
+        if (flattened != null) {
+            return flattened;
+        }
+
+        List<Subscriber> subscribers = new ArrayList<>();
+
+        for (Class<?> eventType : TypeToken.of(eventClass).getTypes().rawTypes()) {
+            subscribers.addAll(subscribersByEventType.getOrDefault(eventType, List.of()));
+        }
+
+        flattened = subscribers.toArray(NO_SUBSCRIBERS);
+        flattenedSubscribers.put(eventClass, flattened);
+
+        return flattened;
+    }
+
+    private static List<Method> subscriberMethods(Class<?> listenerClass) {
+        List<Method> methods = new ArrayList<>();
+
+        for (Class<?> type : TypeToken.of(listenerClass).getTypes().rawTypes()) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isSynthetic()) {
+                    if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+                        throw new IllegalArgumentException("Subscriber method " + method + " should be an instance method with one parameter");
+                    }
+
+                    if (methods.stream().noneMatch(registered -> overrides(registered, method))) {
+                        methods.add(method);
+                    }
+                }
+            }
+        }
+
+        return methods;
+    }
+
+    private static boolean overrides(Method method, Method overridden) {
+        return method.getName().equals(overridden.getName())
+                && method.getParameterTypes()[0] == overridden.getParameterTypes()[0];
+    }
+
+    /**
+     * Generates a lambda calling the subscriber method directly,
+     * falls back to a method handle when the listener class doesn't allow it.
+     */
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> dispatcher(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            MethodHandle handle = lookup.unreflect(method);
+
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(
+                        lookup,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), method.getParameterTypes()[0]));
+
+                return (BiConsumer<Object, Object>) callSite.getTarget().invokeExact();
+            } catch (Throwable t) {
+                MethodHandle genericHandle = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+                return (listener, event) -> {
+                    try {
+                        genericHandle.invokeExact(listener, event);
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new IllegalStateException(e);
+                    }
+                };
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Subscriber method " + method + " is not accessible", e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Object listener;
+
+        private final BiConsumer<Object, Object> dispatcher;
+
+        private final Method method;
+
+        private final boolean concurrent;
+
+        private Subscriber(Object listener, BiConsumer<Object, Object> dispatcher, Method method) {
+            this.listener = listener;
+            this.dispatcher = dispatcher;
+            this.method = method;
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+        }
+    }
+
+    /**
+     * Events posted by subscribers of the current thread, while it is dispatching an event.
+     */
+    private static final class PostingState {
+
+        private final ArrayDeque<Object> queuedEvents = new ArrayDeque<>();
+
+        private boolean dispatching;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blebail.components.core.event;
+
+/**
+ * A listener receiving the events of a ring buffer as runs, to amortize work such as flushes over a batch.
+ */
+@FunctionalInterface
+public interface EventBatchListener {
+
+    /**
+     * Handles an event.
+     * @param event the event
+     * @param sequence the event sequence in the ring buffer
+     * @param endOfBatch true if this is the last event available, false if more events follow immediately
+     */
+    void onEvent(Object event, long sequence, boolean endOfBatch);
+}
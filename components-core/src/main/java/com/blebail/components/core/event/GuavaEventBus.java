@@ -1,7 +1,9 @@
 package com.blebail.components.core.event;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+@ConditionalOnProperty(name = "blebail.eventbus.type", havingValue = "guava", matchIfMissing = true)
 @Component
 public class GuavaEventBus implements EventBus {
 
@@ -0,0 +1,22 @@
+package com.blebail.components.core.event;
+
+/**
+ * What posting an event does when the queue of its partition is full.
+ */
+public enum OverloadPolicy {
+
+    /**
+     * Waits for room in the queue.
+     */
+    BLOCK,
+
+    /**
+     * Drops the event.
+     */
+    DROP,
+
+    /**
+     * Delivers the event on the posting thread, the event may then be delivered before events posted earlier.
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,9 @@
+package com.blebail.components.core.event;
+
+/**
+ * An event delivered in order with the other events sharing its partition key, by buses that partition events.
+ */
+public interface PartitionedEvent {
+
+    Object partitionKey();
+}
@@ -0,0 +1,273 @@
+package com.blebail.components.core.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delivers events through a pre-allocated ring buffer, in the manner of the LMAX Disruptor.
+ * Posting claims a sequence, writes the event in its slot and publishes the slot, each slot has a single writer.
+ * Every registered listener is a reader with its own thread and sequence, it sees every event posted after its registration,
+ * in order, and receives the events available at once as a run.
+ * Posting waits, according to the wait strategy, while the slowest listener is a whole buffer behind.
+ * A listener posting while the buffer is full would wait for itself, the post fails with an IllegalStateException instead.
+ * Slots are cleared once every listener has handled their event, so that the buffer doesn't retain events.
+ * Listeners implementing {@link EventBatchListener} are told where runs end,
+ * other listeners have their {@link com.google.common.eventbus.Subscribe} methods called.
+ */
+public class RingBufferEventBus implements EventBus, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RingBufferEventBus.class);
+
+    private static final String THREAD_NAME_PREFIX = "java-components-ring-buffer-";
+
+    private final Object[] slots;
+
+    private final AtomicLongArray publishedSequences;
+
+    private final int mask;
+
+    private final WaitStrategy waitStrategy;
+
+    private final AtomicLong claimedSequence = new AtomicLong(-1);
+
+    private final List<Reader> readers = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger readerCount = new AtomicInteger();
+
+    private final Object clearLock = new Object();
+
+    private volatile long clearedSequence = -1;
+
+    private volatile long cachedGatingSequence = -1;
+
+    public RingBufferEventBus(int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size should be a power of 2");
+        }
+
+        this.slots = new Object[bufferSize];
+        this.publishedSequences = new AtomicLongArray(bufferSize);
+        this.mask = bufferSize - 1;
+        this.waitStrategy = waitStrategy;
+
+        for (int i = 0; i < bufferSize; i++) {
+            publishedSequences.set(i, -1);
+        }
+    }
+
+    @Override
+    public synchronized void register(Object listener) {
+        EventBatchListener batchListener;
+
+        if (listener instanceof EventBatchListener) {
+            batchListener = (EventBatchListener) listener;
+        } else {
+            DirectEventBus subscribers = new DirectEventBus();
+            subscribers.register(listener);
+            batchListener = (event, sequence, endOfBatch) -> subscribers.post(event);
+        }
+
+        Reader reader = new Reader(listener, batchListener, claimedSequence.get());
+        readers.add(reader);
+        reader.thread.start();
+    }
+
+    @Override
+    public synchronized void unregister(Object listener) {
+        for (Reader reader : readers) {
+            if (reader.listener == listener) {
+                readers.remove(reader);
+                reader.stop();
+            }
+        }
+    }
+
+    @Override
+    public void post(Object event) {
+        long sequence = isReaderThread() ? claimWithoutWaiting() : claim();
+
+        int index = index(sequence);
+        slots[index] = event;
+        publishedSequences.set(index, sequence);
+    }
+
+    /**
+     * Stops the listeners threads once they have handled the events already posted.
+     */
+    @Override
+    public synchronized void close() {
+        long lastSequence = claimedSequence.get();
+
+        for (Reader reader : readers) {
+            while (reader.sequence.get() < lastSequence && reader.thread.isAlive()) {
+                waitStrategy.idle();
+            }
+
+            reader.stop();
+        }
+
+        readers.clear();
+        clear();
+    }
+
+    /**
+     * The number of slots still holding an event.
+     */
+    int retainedEvents() {
+        int retained = 0;
+
+        for (Object slot : slots) {
+            if (slot != null) {
+                retained++;
+            }
+        }
+
+        return retained;
+    }
+
+    private long claim() {
+        long sequence = claimedSequence.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+
+        if (wrapPoint > cachedGatingSequence) {
+            long gatingSequence;
+
+            while (wrapPoint > (gatingSequence = clear())) {
+                waitStrategy.idle();
+            }
+
+            cachedGatingSequence = gatingSequence;
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Claims a sequence for a listener posting from its reader thread, which can't wait for itself.
+     */
+    private long claimWithoutWaiting() {
+        while (true) {
+            long sequence = claimedSequence.get() + 1;
+
+            if (sequence - slots.length > clear()) {
+                throw new IllegalStateException("Ring buffer is full, a listener can't post until it has room");
+            }
+
+            if (claimedSequence.compareAndSet(sequence - 1, sequence)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Clears the slots every listener has handled.
+     * @return the sequence up to which slots are cleared, and can be reused
+     */
+    private long clear() {
+        synchronized (clearLock) {
+            long slowestSequence = claimedSequence.get();
+
+            for (Reader reader : readers) {
+                slowestSequence = Math.min(slowestSequence, reader.sequence.get());
+            }
+
+            long cleared = clearedSequence;
+
+            for (long sequence = Math.max(cleared + 1, slowestSequence - slots.length + 1); sequence <= slowestSequence; sequence++) {
+                slots[index(sequence)] = null;
+            }
+
+            if (slowestSequence > cleared) {
+                clearedSequence = slowestSequence;
+            }
+
+            return Math.max(slowestSequence, cleared);
+        }
+    }
+
+    private boolean isReaderThread() {
+        for (Reader reader : readers) {
+            if (reader.thread == Thread.currentThread()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private final class Reader implements Runnable {
+
+        private final Object listener;
+
+        private final EventBatchListener batchListener;
+
+        private final AtomicLong sequence;
+
+        private final Thread thread;
+
+        private volatile boolean running = true;
+
+        private Reader(Object listener, EventBatchListener batchListener, long startSequence) {
+            this.listener = listener;
+            this.batchListener = batchListener;
+            this.sequence = new AtomicLong(startSequence);
+            this.thread = new Thread(this, THREAD_NAME_PREFIX + readerCount.incrementAndGet());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long nextSequence = sequence.get() + 1;
+
+            while (running) {
+                if (publishedSequences.get(index(nextSequence)) != nextSequence) {
+                    waitStrategy.idle();
+                    continue;
+                }
+
+                long lastSequence = nextSequence;
+
+                while (lastSequence + 1 - nextSequence < slots.length
+                        && publishedSequences.get(index(lastSequence + 1)) == lastSequence + 1) {
+                    lastSequence++;
+                }
+
+                for (long current = nextSequence; current <= lastSequence; current++) {
+                    Object event = slots[index(current)];
+
+                    try {
+                        batchListener.onEvent(event, current, current == lastSequence);
+                    } catch (Throwable t) {
+                        LOGGER.error("Listener {} failed to handle event {}", listener, event, t);
+                    }
+                }
+
+                sequence.set(lastSequence);
+                nextSequence = lastSequence + 1;
+                clear();
+            }
+        }
+
+        private void stop() {
+            running = false;
+
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
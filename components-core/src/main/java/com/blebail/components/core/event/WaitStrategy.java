@@ -0,0 +1,43 @@
+package com.blebail.components.core.event;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a thread waits for a ring buffer sequence, trading latency against CPU usage.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Spins on the CPU, lowest latency, uses a core per waiting thread.
+     */
+    BUSY_SPIN {
+        @Override
+        void idle() {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Yields to other threads between attempts.
+     */
+    YIELD {
+        @Override
+        void idle() {
+            Thread.yield();
+        }
+    },
+
+    /**
+     * Parks the thread briefly between attempts, highest latency, nearly no CPU usage.
+     */
+    PARK {
+        @Override
+        void idle() {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+    private static final long PARK_NANOS = 50_000;
+
+    abstract void idle();
+}
@@ -0,0 +1,343 @@
+package com.blebail.components.core.image;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Stores the compressed derivatives of images on disk, keyed by the content of the source and the format,
+ * so that an image is compressed to a format once whatever its file name, and again only after eviction.
+ * Derivatives are generated on demand, concurrent requests for the same missing derivative wait for a single generation.
+ * Files are written to a temporary file then moved in place, under two levels of directories named after the key,
+ * the least recently used derivatives are deleted once their total size exceeds max bytes.
+ * Source hashes are remembered by path, size and last modification time, so that an unchanged source is read once.
+ */
+public final class DerivativeStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DerivativeStore.class);
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final int MAX_REMEMBERED_SOURCES = 10_000;
+
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    private final Path root;
+
+    private final long maxBytes;
+
+    private final Generation generation;
+
+    private final Map<String, CompletableFuture<File>> inFlight = new ConcurrentHashMap<>();
+
+    private final Cache<Path, SourceHash> sourceHashes = Caffeine.newBuilder()
+            .maximumSize(MAX_REMEMBERED_SOURCES)
+            .build();
+
+    private final LinkedHashMap<Path, Long> sizes = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    public DerivativeStore(Path root, long maxBytes) throws IOException {
+        this(root, maxBytes, (source, format, target) -> new JpgImage(source, format).compressTo(target));
+    }
+
+    DerivativeStore(Path root, long maxBytes, Generation generation) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes should be greater than 0");
+        }
+
+        this.root = Files.createDirectories(root);
+        this.maxBytes = maxBytes;
+        this.generation = Objects.requireNonNull(generation);
+
+        loadExistingDerivatives();
+    }
+
+    /**
+     * Gets the derivative of a source image in a format, generating it if it is not stored yet.
+     * @param source the source image
+     * The file can be evicted as soon as it is returned, callers reading it later should use {@link #open(File, ImageFormat)}.
+     * @param format the derivative format
+     * @return the derivative file
+     * @throws IOException if the source can't be read or the derivative can't be generated
+     */
+    public File get(File source, ImageFormat format) throws IOException {
+        String key = key(contentHash(source), format);
+        Path derivative = path(key, format);
+
+        if (touch(derivative)) {
+            return derivative.toFile();
+        }
+
+        CompletableFuture<File> generated = new CompletableFuture<>();
+        CompletableFuture<File> existing = inFlight.putIfAbsent(key, generated);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            if (touch(derivative)) {
+                generated.complete(derivative.toFile());
+            } else {
+                generated.complete(generate(source, format, derivative));
+            }
+        } catch (Throwable t) {
+            generated.completeExceptionally(t);
+        } finally {
+            inFlight.remove(key);
+        }
+
+        return await(generated);
+    }
+
+    /**
+     * Opens the derivative of a source image in a format, generating it if it is not stored yet.
+     * A derivative evicted between its lookup and its opening is generated again,
+     * once opened it stays readable even if it is evicted.
+     * @param source the source image
+     * @param format the derivative format
+     * @return the derivative content, to be closed by the caller
+     * @throws IOException if the source can't be read or the derivative can't be generated
+     */
+    public InputStream open(File source, ImageFormat format) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            File derivative = get(source, format);
+
+            try {
+                return Files.newInputStream(derivative.toPath());
+            } catch (NoSuchFileException e) {
+                if (attempt >= MAX_OPEN_ATTEMPTS) {
+                    throw e;
+                }
+
+                LOGGER.debug("Derivative {} was evicted before being opened, generating it again", derivative);
+            }
+        }
+    }
+
+    public long totalBytes() {
+        synchronized (sizes) {
+            return totalBytes;
+        }
+    }
+
+    private File generate(File source, ImageFormat format, Path derivative) throws IOException {
+        Files.createDirectories(derivative.getParent());
+        Path temporary = derivative.resolveSibling(derivative.getFileName() + "." + UUID.randomUUID() + TEMPORARY_SUFFIX);
+
+        try {
+            generation.generate(source, format, temporary.toFile());
+            move(temporary, derivative);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        add(derivative, Files.size(derivative));
+
+        return derivative.toFile();
+    }
+
+    private static void move(Path temporary, Path derivative) throws IOException {
+        try {
+            Files.move(temporary, derivative, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, derivative, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Marks a stored derivative as the most recently used, forgets it if its file was deleted behind the store.
+     * @return true if the derivative is stored, false otherwise
+     */
+    private boolean touch(Path derivative) {
+        synchronized (sizes) {
+            Long size = sizes.get(derivative);
+
+            if (size == null) {
+                return false;
+            }
+
+            if (Files.exists(derivative)) {
+                return true;
+            }
+
+            sizes.remove(derivative);
+            totalBytes -= size;
+
+            return false;
+        }
+    }
+
+    private void add(Path derivative, long size) {
+        List<Path> evicted = new ArrayList<>();
+
+        synchronized (sizes) {
+            Long previousSize = sizes.put(derivative, size);
+            totalBytes += size - (previousSize != null ? previousSize : 0);
+
+            Iterator<Map.Entry<Path, Long>> leastRecentlyUsed = sizes.entrySet().iterator();
+
+            while (totalBytes > maxBytes && leastRecentlyUsed.hasNext()) {
+                Map.Entry<Path, Long> eldest = leastRecentlyUsed.next();
+
+                if (eldest.getKey().equals(derivative)) {
+                    continue;
+                }
+
+                evicted.add(eldest.getKey());
+                totalBytes -= eldest.getValue();
+                leastRecentlyUsed.remove();
+            }
+        }
+
+        for (Path evictedDerivative : evicted) {
+            try {
+                Files.deleteIfExists(evictedDerivative);
+            } catch (IOException e) {
+                LOGGER.warn("Could not delete evicted derivative {}", evictedDerivative, e);
+            }
+        }
+    }
+
+    private void loadExistingDerivatives() throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            List<Path> derivatives = files
+                    .filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(DerivativeStore::lastModified))
+                    .collect(Collectors.toList());
+
+            for (Path derivative : derivatives) {
+                if (derivative.getFileName().toString().endsWith(TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(derivative);
+                } else {
+                    add(derivative, Files.size(derivative));
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path path(String key, ImageFormat format) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key + "." + format.extension());
+    }
+
+    static String key(String contentHash, ImageFormat format) {
+        String formatDescription = String.join("|",
+                String.valueOf(format.width()),
+                String.valueOf(format.height()),
+                format.extension(),
+                String.valueOf(format.compression()),
+                String.valueOf(format.prefix()),
+                String.valueOf(format.suffix()));
+
+        return contentHash + "-" + Hashing.sha256().hashString(formatDescription, StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+
+    private String contentHash(File source) throws IOException {
+        Path sourcePath = source.toPath().toAbsolutePath();
+        long size = Files.size(sourcePath);
+        long lastModified = Files.getLastModifiedTime(sourcePath).toMillis();
+        SourceHash sourceHash = sourceHashes.getIfPresent(sourcePath);
+
+        if (sourceHash != null && sourceHash.size == size && sourceHash.lastModified == lastModified) {
+            return sourceHash.hash;
+        }
+
+        String hash = hash(sourcePath);
+        sourceHashes.put(sourcePath, new SourceHash(size, lastModified, hash));
+
+        return hash;
+    }
+
+    private static String hash(Path source) throws IOException {
+        try (InputStream sourceInputStream = Files.newInputStream(source);
+             HashingInputStream hashingInputStream = new HashingInputStream(Hashing.sha256(), sourceInputStream)) {
+            ByteStreams.exhaust(hashingInputStream);
+
+            return hashingInputStream.hash().toString();
+        }
+    }
+
+    private static File await(CompletableFuture<File> derivative) throws IOException {
+        try {
+            return derivative.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the derivative of a source in a format to a target file.
+     */
+    @FunctionalInterface
+    interface Generation {
+
+        void generate(File source, ImageFormat format, File target) throws IOException;
+    }
+
+    private static final class SourceHash {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final String hash;
+
+        private SourceHash(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+    }
+}
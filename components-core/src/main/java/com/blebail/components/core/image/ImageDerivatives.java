@@ -0,0 +1,143 @@
+package com.blebail.components.core.image;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Compresses one source image to several formats, decoding the source once.
+ * Formats are resized from the largest to the smallest, each from the smallest image already resized
+ * that is at least as large in both dimensions, and every resized image is encoded on the executor
+ * while the next ones are resized.
+ * An intermediate image is released as soon as no remaining format would be resized from it and its encoding is done,
+ * so that only the images still needed are kept in memory.
+ * The executor bounds how many images are encoded at once, it should not be one the caller runs on,
+ * the caller would otherwise wait for tasks queued behind it.
+ */
+public final class ImageDerivatives {
+
+    private final Executor executor;
+
+    public ImageDerivatives(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Compresses the source to every format, to the target file of the format.
+     * @param source the source image
+     * @param targets the target file of each format
+     * @throws IOException if the source can't be decoded or a target can't be written
+     */
+    public void compress(File source, Map<ImageFormat, File> targets) throws IOException {
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        List<ImageFormat> formats = new ArrayList<>(targets.keySet());
+        formats.sort(Comparator.comparingLong(ImageDerivatives::area).reversed());
+
+        int maxWidth = formats.stream().mapToInt(ImageFormat::width).max().getAsInt();
+        int maxHeight = formats.stream().mapToInt(ImageFormat::height).max().getAsInt();
+
+        List<BufferedImage> intermediates = new ArrayList<>();
+        List<CompletableFuture<Void>> encodings = new ArrayList<>();
+        Map<BufferedImage, CompletableFuture<Void>> encodingsByIntermediate = new IdentityHashMap<>();
+
+        intermediates.add(JpgImage.decode(source, maxWidth, maxHeight));
+
+        try {
+            for (int i = 0; i < formats.size(); i++) {
+                ImageFormat format = formats.get(i);
+                BufferedImage resized = JpgImage.resize(nearestLarger(intermediates, format), format);
+                File target = targets.get(format);
+
+                CompletableFuture<Void> encoding = CompletableFuture.runAsync(() -> {
+                    try {
+                        JpgImage.encode(resized, format, target);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor);
+
+                intermediates.add(resized);
+                encodings.add(encoding);
+                encodingsByIntermediate.put(resized, encoding);
+
+                for (BufferedImage unneeded : unneeded(intermediates, formats.subList(i + 1, formats.size()))) {
+                    intermediates.remove(unneeded);
+                    CompletableFuture<Void> unneededEncoding = encodingsByIntermediate.remove(unneeded);
+
+                    if (unneededEncoding != null) {
+                        unneededEncoding.whenComplete((result, error) -> unneeded.flush());
+                    } else {
+                        unneeded.flush();
+                    }
+                }
+            }
+
+            CompletableFuture.allOf(encodings.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+
+            throw e;
+        } finally {
+            CompletableFuture.allOf(encodings.toArray(new CompletableFuture[0]))
+                    .handle((result, error) -> null)
+                    .join();
+            intermediates.forEach(BufferedImage::flush);
+        }
+    }
+
+    /**
+     * Returns the intermediates no remaining format would be resized from.
+     */
+    static List<BufferedImage> unneeded(List<BufferedImage> intermediates, List<ImageFormat> remainingFormats) {
+        Set<BufferedImage> needed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (ImageFormat format : remainingFormats) {
+            needed.add(nearestLarger(intermediates, format));
+        }
+
+        List<BufferedImage> unneeded = new ArrayList<>();
+
+        for (BufferedImage intermediate : intermediates) {
+            if (!needed.contains(intermediate)) {
+                unneeded.add(intermediate);
+            }
+        }
+
+        return unneeded;
+    }
+
+    private static BufferedImage nearestLarger(List<BufferedImage> intermediates, ImageFormat format) {
+        BufferedImage nearest = intermediates.get(0);
+
+        for (BufferedImage intermediate : intermediates) {
+            if (intermediate.getWidth() >= format.width()
+                    && intermediate.getHeight() >= format.height()
+                    && (long) intermediate.getWidth() * intermediate.getHeight() < (long) nearest.getWidth() * nearest.getHeight()) {
+                nearest = intermediate;
+            }
+        }
+
+        return nearest;
+    }
+
+    private static long area(ImageFormat format) {
+        return (long) format.width() * format.height();
+    }
+}
@@ -4,9 +4,12 @@ import org.imgscalr.Scalr;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
 import javax.imageio.ImageWriteParam;
 import javax.imageio.ImageWriter;
 import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -14,8 +17,15 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
+/**
+ * Resizes an image to a format and writes it compressed.
+ * The source is decoded with subsampling, to a raster of about twice the target size rather than at full resolution,
+ * so that the memory needed scales with the target and not with the source.
+ */
 public final class JpgImage {
 
+    private static final int OVERSAMPLING = 2;
+
     private final File source;
 
     private final ImageFormat format;
@@ -26,29 +36,90 @@ public final class JpgImage {
     }
 
     public void compressTo(File target) throws IOException {
-        FileImageOutputStream targetOutputStream = new FileImageOutputStream(target);
         BufferedImage resizedImage = resize();
 
-        ImageWriter writer = getWriter();
-        ImageWriteParam writerSettings = getWriterSettings(writer);
+        try {
+            encode(resizedImage, format, target);
+        } finally {
+            resizedImage.flush();
+        }
+    }
+
+    private BufferedImage resize() throws IOException {
+        BufferedImage sourceImage = decode(source, format.width(), format.height());
 
         try {
+            return resize(sourceImage, format);
+        } finally {
+            sourceImage.flush();
+        }
+    }
+
+    static BufferedImage resize(BufferedImage image, ImageFormat format) {
+        return Scalr.resize(image, Scalr.Mode.FIT_EXACT, format.width(), format.height());
+    }
+
+    /**
+     * Writes an image already at the format size, compressed with the format compression.
+     */
+    static void encode(BufferedImage image, ImageFormat format, File target) throws IOException {
+        ImageWriter writer = getWriter(format);
+        ImageWriteParam writerSettings = getWriterSettings(writer, format);
+
+        try (FileImageOutputStream targetOutputStream = new FileImageOutputStream(target)) {
             writer.setOutput(targetOutputStream);
-            writer.write(null, new IIOImage(resizedImage, null, null), writerSettings);
+            writer.write(null, new IIOImage(image, null, null), writerSettings);
         } finally {
             writer.dispose();
-            targetOutputStream.close();
-            resizedImage.flush();
         }
     }
 
-    private BufferedImage resize() throws IOException {
-        BufferedImage sourceImage = ImageIO.read(source);
+    /**
+     * Decodes an image, skipping pixels so that the decoded image is no more than about twice the target size.
+     */
+    static BufferedImage decode(File source, int targetWidth, int targetHeight) throws IOException {
+        try (ImageInputStream sourceInputStream = ImageIO.createImageInputStream(source)) {
+            if (sourceInputStream == null) {
+                throw new IOException(String.format("Could not open %s", source));
+            }
+
+            Iterator<ImageReader> imageReadersIterator = ImageIO.getImageReaders(sourceInputStream);
+
+            if (!imageReadersIterator.hasNext()) {
+                throw new IOException(String.format("Could not find an image reader for %s", source));
+            }
+
+            ImageReader reader = imageReadersIterator.next();
+
+            try {
+                reader.setInput(sourceInputStream, true, true);
+
+                int subsampling = subsampling(reader.getWidth(0), reader.getHeight(0), targetWidth, targetHeight);
+                ImageReadParam readerSettings = reader.getDefaultReadParam();
+                readerSettings.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return reader.read(0, readerSettings);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * The largest pixel step keeping the decoded image at least twice the target size in both dimensions, 1 if the source is too small.
+     */
+    static int subsampling(int sourceWidth, int sourceHeight, int targetWidth, int targetHeight) {
+        if (targetWidth <= 0 || targetHeight <= 0) {
+            return 1;
+        }
+
+        int widthStep = sourceWidth / (targetWidth * OVERSAMPLING);
+        int heightStep = sourceHeight / (targetHeight * OVERSAMPLING);
 
-        return Scalr.resize(sourceImage, Scalr.Mode.FIT_EXACT, format.width(), format.height());
+        return Math.max(1, Math.min(widthStep, heightStep));
     }
 
-    private ImageWriter getWriter() {
+    private static ImageWriter getWriter(ImageFormat format) {
         Iterator<ImageWriter> imageWritersIterator = ImageIO.getImageWritersByFormatName(format.extension());
 
         if (!imageWritersIterator.hasNext()) {
@@ -58,7 +129,7 @@ public final class JpgImage {
         return imageWritersIterator.next();
     }
 
-    private ImageWriteParam getWriterSettings(ImageWriter imageWriter) {
+    private static ImageWriteParam getWriterSettings(ImageWriter imageWriter, ImageFormat format) {
         ImageWriteParam imageWriteParams = imageWriter.getDefaultWriteParam();
 
         imageWriteParams.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
@@ -0,0 +1,34 @@
+package com.blebail.components.core.mail;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A mail of a batch that could not be rendered or sent, with the reason.
+ */
+public class MailFailure {
+
+    private final Mail mail;
+
+    private final Exception cause;
+
+    public MailFailure(final Mail mail, final Exception cause) {
+        this.mail = mail;
+        this.cause = cause;
+    }
+
+    public Mail mail() {
+        return this.mail;
+    }
+
+    public Exception cause() {
+        return this.cause;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("mail", mail)
+                .add("cause", cause)
+                .toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.blebail.components.core.mail;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.TemplateData;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import javax.inject.Inject;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders mail templates with the global parameters, domainName and domainUrl, added to the mail parameters.
+ * The global parameters are built once and the mail parameters are copied, neither is ever modified.
+ * Templates can be preloaded at startup so that the template engine cache holds them parsed before the first mail is rendered.
+ */
+@Profile("mail")
+@Component
+public class MailTemplates {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MailTemplates.class);
+
+    private final ITemplateEngine templateEngine;
+
+    private final Map<String, Object> globalParameters;
+
+    @Inject
+    public MailTemplates(final ITemplateEngine templateEngine,
+                         @Value("${blebail.mail.domain.name}") final String domainName,
+                         @Value("${blebail.mail.domain.url}") final String domainUrl) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("domainName", domainName);
+        parameters.put("domainUrl", domainUrl);
+
+        this.templateEngine = templateEngine;
+        this.globalParameters = Collections.unmodifiableMap(parameters);
+    }
+
+    public String render(final String templateName, final Map<String, Object> parameters) {
+        return render(templateName, parameters, Locale.getDefault());
+    }
+
+    public String render(final String templateName, final Map<String, Object> parameters, final Locale locale) {
+        Map<String, Object> variables = new HashMap<>(parameters != null ? parameters.size() + globalParameters.size() : globalParameters.size());
+
+        if (parameters != null) {
+            variables.putAll(parameters);
+        }
+
+        variables.putAll(globalParameters);
+
+        return templateEngine.process(templateName, new Context(locale, variables));
+    }
+
+    /**
+     * Parses every template into the template engine cache without rendering it, templates failing to parse are logged and skipped.
+     * The cached templates are the ones rendered afterwards whatever the locale, messages are only resolved when rendering.
+     * Nothing is preloaded when the template engine is not a {@link TemplateEngine}, templates are then parsed on their first rendering.
+     */
+    public void preload(final Collection<String> templateNames) {
+        if (!(templateEngine instanceof TemplateEngine)) {
+            LOGGER.debug("Mail templates are not preloaded, the template engine doesn't expose its template manager");
+            return;
+        }
+
+        IEngineConfiguration configuration = ((TemplateEngine) templateEngine).getConfiguration();
+
+        for (String templateName : templateNames) {
+            try {
+                ITemplateContext context = configuration.getEngineContextFactory().createEngineContext(
+                        configuration,
+                        new TemplateData(templateName, null, null, TemplateMode.HTML, AlwaysValidCacheEntryValidity.INSTANCE),
+                        null,
+                        new Context());
+
+                configuration.getTemplateManager().parseStandalone(context, templateName, null, null, true, true);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Mail template {} could not be preloaded", templateName, e);
+            }
+        }
+    }
+
+    public Map<String, Object> globalParameters() {
+        return globalParameters;
+    }
+}
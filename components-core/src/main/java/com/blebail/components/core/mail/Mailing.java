@@ -5,19 +5,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
-import org.thymeleaf.ITemplateEngine;
-import org.thymeleaf.context.Context;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 
 /**
  * Processes and sends mails.
+ * Batches are rendered on the calling thread and sent over one SMTP connection per blebail.mail.batchSize messages,
+ * with at most blebail.mail.maxConcurrentConnections connections open at once to the mail server of the sender.
+ * The limit is shared by every send of this instance, it doesn't depend on the recipients' hosts.
  */
 @Profile("mail")
 @Component
@@ -25,55 +33,123 @@ public class Mailing {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Mailing.class);
 
-    @Value("${blebail.mail.domain.name}")
-    private String domainName;
+    private final MailTemplates templates;
 
-    @Value("${blebail.mail.domain.url}")
-    private String domainUrl;
+    private final JavaMailSender mailSender;
 
-    private final ITemplateEngine templateEngine;
+    private final int batchSize;
 
-    private final JavaMailSender mailSender;
+    private final Semaphore connections;
 
     @Inject
-    public Mailing(final ITemplateEngine templateEngine, final JavaMailSender mailSender) {
-        this.templateEngine = templateEngine;
+    public Mailing(final MailTemplates templates,
+                   final JavaMailSender mailSender,
+                   @Value("${blebail.mail.batchSize:50}") final int batchSize,
+                   @Value("${blebail.mail.maxConcurrentConnections:2}") final int maxConcurrentConnections) {
+        if (batchSize <= 0 || maxConcurrentConnections <= 0) {
+            throw new IllegalArgumentException("Batch size and max concurrent connections should be greater than 0");
+        }
+
+        this.templates = templates;
         this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.connections = new Semaphore(maxConcurrentConnections);
     }
 
     public void send(Mail mail) {
-        MimeMessage message = mailSender.createMimeMessage();
-
         try {
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(mail.to());
-            helper.setSentDate(new Date());
-            helper.setFrom(mail.from());
-            helper.setSubject(mail.subject());
-
-            if (mail.isRaw()) {
-                helper.setText(mail.rawContent(), true);
-            } else {
-                helper.setText(processBody(mail.parameters(), mail.templateName()), true);
-            }
+            MimeMessage message = toMessage(mail);
 
-            mailSender.send(message);
+            withConnection(() -> mailSender.send(message));
         } catch (MessagingException e) {
             LOGGER.error(e.getMessage(), e);
         }
     }
 
-    private String processBody(Map<String, Object> parameters, final String templateName) {
-        Context context = new Context();
+    /**
+     * Sends mails reusing SMTP connections, a failing mail doesn't prevent the others from being sent.
+     * @return the mails that could not be rendered or sent, empty if all were sent
+     */
+    public List<MailFailure> send(Collection<Mail> mails) {
+        List<MailFailure> failures = new ArrayList<>();
+        Map<MimeMessage, Mail> messages = new IdentityHashMap<>();
+        List<MimeMessage> toSend = new ArrayList<>();
+
+        for (Mail mail : mails) {
+            Rendering rendering = new Rendering(mail);
 
-        addGlobalParameters(parameters);
-        parameters.forEach(context::setVariable);
+            if (rendering.failure != null) {
+                failures.add(new MailFailure(rendering.mail, rendering.failure));
+            } else {
+                messages.put(rendering.message, rendering.mail);
+                toSend.add(rendering.message);
+            }
+        }
 
-        return templateEngine.process(templateName, context);
+        for (int from = 0; from < toSend.size(); from += batchSize) {
+            MimeMessage[] batch = toSend.subList(from, Math.min(from + batchSize, toSend.size())).toArray(new MimeMessage[0]);
+
+            try {
+                withConnection(() -> mailSender.send(batch));
+            } catch (MailSendException e) {
+                e.getFailedMessages().forEach((message, cause) ->
+                        failures.add(new MailFailure(messages.get(message), cause)));
+            } catch (MailException e) {
+                for (MimeMessage message : batch) {
+                    failures.add(new MailFailure(messages.get(message), e));
+                }
+            }
+        }
+
+        failures.forEach(failure -> LOGGER.error("Mail {} could not be sent", failure.mail(), failure.cause()));
+
+        return failures;
     }
 
-    private void addGlobalParameters(Map<String, Object> parameters) {
-        parameters.put("domainName", domainName);
-        parameters.put("domainUrl", domainUrl);
+    private MimeMessage toMessage(Mail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(mail.to());
+        helper.setSentDate(new Date());
+        helper.setFrom(mail.from());
+        helper.setSubject(mail.subject());
+
+        if (mail.isRaw()) {
+            helper.setText(mail.rawContent(), true);
+        } else {
+            helper.setText(templates.render(mail.templateName(), mail.parameters()), true);
+        }
+
+        return message;
+    }
+
+    private void withConnection(Runnable sending) {
+        connections.acquireUninterruptibly();
+
+        try {
+            sending.run();
+        } finally {
+            connections.release();
+        }
+    }
+
+    private final class Rendering {
+
+        private final Mail mail;
+
+        private MimeMessage message;
+
+        private Exception failure;
+
+        private Rendering(Mail mail) {
+            this.mail = mail;
+
+            try {
+                this.message = toMessage(mail);
+            } catch (MessagingException | RuntimeException e) {
+                this.failure = e;
+            }
+        }
     }
 }
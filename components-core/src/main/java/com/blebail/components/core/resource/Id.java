@@ -1,10 +1,123 @@
 package com.blebail.components.core.resource;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class Id {
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int ID_LENGTH = 32;
+
+    private static final int BYTES_LENGTH = 16;
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final long VERSION = 0x7000L;
+
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    private Id() {
+    }
+
     public static String random() {
         return UUID.randomUUID().toString().replace("-", "");
     }
+
+    /**
+     * Generates a time-ordered id laid out like a UUIDv7: 48 bits of unix milliseconds, a 12 bits counter and 62 random bits.
+     * Ids generated by this JVM are strictly increasing, ids are 32 lowercase hexadecimal characters,
+     * so their lexicographic order is their generation order and they keep the format of random ids.
+     * The random bits are not generated by a secure generator, these ids are not meant to be secrets.
+     * @return a time-ordered id
+     */
+    public static String next() {
+        long timestampAndCounter = nextTimestampAndCounter();
+        long mostSignificantBits = (timestampAndCounter >>> COUNTER_BITS) << 16
+                | VERSION
+                | (timestampAndCounter & 0xfffL);
+        long leastSignificantBits = VARIANT | (ThreadLocalRandom.current().nextLong() >>> 2);
+
+        char[] id = new char[ID_LENGTH];
+        writeHex(mostSignificantBits, id, 0);
+        writeHex(leastSignificantBits, id, 16);
+
+        return new String(id);
+    }
+
+    /**
+     * Converts an id to 16 bytes, to store it as BINARY(16).
+     * @param id a 32 hexadecimal characters id
+     * @return the id bytes
+     */
+    public static byte[] toBytes(String id) {
+        if (id == null || id.length() != ID_LENGTH) {
+            throw new IllegalArgumentException("Id should be 32 hexadecimal characters");
+        }
+
+        byte[] bytes = new byte[BYTES_LENGTH];
+
+        for (int i = 0; i < BYTES_LENGTH; i++) {
+            bytes[i] = (byte) (hexValue(id.charAt(2 * i)) << 4 | hexValue(id.charAt(2 * i + 1)));
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Converts 16 bytes, as stored in a BINARY(16), back to an id.
+     * @param bytes the id bytes
+     * @return a 32 hexadecimal characters id
+     */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != BYTES_LENGTH) {
+            throw new IllegalArgumentException("Id should be 16 bytes");
+        }
+
+        char[] id = new char[ID_LENGTH];
+
+        for (int i = 0; i < BYTES_LENGTH; i++) {
+            id[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+            id[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+        }
+
+        return new String(id);
+    }
+
+    /**
+     * The counter is incremented within a millisecond, when it overflows it carries into the timestamp,
+     * which stays strictly increasing at the cost of running slightly ahead of the clock.
+     */
+    private static long nextTimestampAndCounter() {
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+
+        while (true) {
+            long last = lastTimestampAndCounter.get();
+            long next = Math.max(now, last + 1);
+
+            if (lastTimestampAndCounter.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+
+    private static void writeHex(long value, char[] destination, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            destination[offset + i] = HEX_DIGITS[(int) (value & 0xf)];
+            value >>>= 4;
+        }
+    }
+
+    private static int hexValue(char hexDigit) {
+        int value = Character.digit(hexDigit, 16);
+
+        if (value < 0) {
+            throw new IllegalArgumentException("Id should be 32 hexadecimal characters");
+        }
+
+        return value;
+    }
 }
@@ -0,0 +1,88 @@
+package com.blebail.components.core.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BulkheadTest {
+
+    private MeterRegistry registry;
+
+    private Bulkhead tested;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tested = new Bulkhead("mail", 1, 1, 1, RejectionPolicy.ABORT, registry);
+        tested.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tested.shutdown();
+    }
+
+    @Test
+    void shouldThrowException_whenMaxSizeIsLowerThanCoreSize() {
+        assertThrows(IllegalArgumentException.class, () -> new Bulkhead("mail", 2, 1, 1, RejectionPolicy.ABORT, registry));
+    }
+
+    @Test
+    void shouldRecordQueueWaitAndExecutionTimes() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+
+        tested.execute(done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        tested.shutdown();
+        tested.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+        assertThat(registry.get("blebail.bulkhead.queue.wait").tag("name", "mail").timer().count()).isEqualTo(1);
+        assertThat(registry.get("blebail.bulkhead.execution").tag("name", "mail").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountRejectedTasks_whenThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        tested.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        tested.execute(() -> {});
+
+        assertThrows(RejectedExecutionException.class, () -> tested.execute(() -> {}));
+
+        assertThat(registry.get("blebail.bulkhead.rejected").tag("name", "mail").counter().count()).isEqualTo(1);
+        assertThat(registry.get("blebail.bulkhead.active").tag("name", "mail").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("blebail.bulkhead.queue.size").tag("name", "mail").gauge().value()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void shouldGetBulkheadsByName() {
+        BulkheadRegistry bulkheads = new BulkheadRegistry(Collections.singletonMap("mail", tested));
+
+        assertThat(bulkheads.get("mail")).isSameAs(tested);
+        assertThrows(NoSuchElementException.class, () -> bulkheads.get("image"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
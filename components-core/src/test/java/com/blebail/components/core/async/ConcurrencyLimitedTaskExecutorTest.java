@@ -0,0 +1,113 @@
+package com.blebail.components.core.async;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ConcurrencyLimitedTaskExecutorTest {
+
+    @Test
+    public void shouldThrowException_whenMaxConcurrencyIsZero() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitedTaskExecutor(new SimpleAsyncTaskExecutor(), 0));
+    }
+
+    @Test
+    public void shouldNotRunMoreTasksAtOnceThanMaxConcurrency() throws Exception {
+        ConcurrencyLimitedTaskExecutor tested = new ConcurrencyLimitedTaskExecutor(new SimpleAsyncTaskExecutor(), 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            tested.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(tested.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReleasePermit_whenTaskFails() throws Exception {
+        ConcurrencyLimitedTaskExecutor tested = new ConcurrencyLimitedTaskExecutor(Runnable::run, 1);
+
+        assertThrows(IllegalStateException.class, () -> tested.execute(() -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(tested.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCompleteSubmittedTaskExceptionally_whenTaskThrowsAnError() {
+        ConcurrencyLimitedTaskExecutor tested = new ConcurrencyLimitedTaskExecutor(Runnable::run, 1);
+
+        Future<Object> failed = tested.submit(() -> {
+            throw new AssertionError();
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        assertThat(error).hasCauseInstanceOf(AssertionError.class);
+        assertThat(tested.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldCompleteSubmittedTaskExceptionally_whenInterruptedWhileWaitingForAPermit() throws Exception {
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        ConcurrencyLimitedTaskExecutor tested = new ConcurrencyLimitedTaskExecutor(task -> {
+            Thread thread = new Thread(task);
+            threads.add(thread);
+            thread.start();
+        }, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        tested.execute(() -> await(release));
+
+        Future<Object> waiting = tested.submit(() -> {
+            ran.set(true);
+            return null;
+        });
+        while (threads.get(1).getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        threads.get(1).interrupt();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertThat(error).hasCauseInstanceOf(TaskRejectedException.class);
+        assertThat(ran).isFalse();
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
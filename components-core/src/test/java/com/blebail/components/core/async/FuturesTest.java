@@ -2,11 +2,19 @@ package com.blebail.components.core.async;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 
 public final class FuturesTest {
@@ -61,4 +69,156 @@ public final class FuturesTest {
 
         assertThat(strings).containsExactly("1", "3");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldNotWaitForPendingFutures_whenConcatAllSuccessful() {
+        CompletableFuture<String> pendingFuture = new CompletableFuture<>();
+        List<CompletableFuture<String>> futures = List.of(CompletableFuture.completedFuture("1"), pendingFuture);
+
+        CompletableFuture<List<String>> successfulFutures = Futures.concatOnlySuccessful(futures);
+
+        assertThat(successfulFutures).isNotDone();
+        pendingFuture.complete("2");
+        assertThat(successfulFutures.join()).containsExactly("1", "2");
+    }
+
+    @Test
+    public void shouldReturnPartialResults_whenConcatAllWithinDeadlineAndSomeAreStillRunning() {
+        CompletableFuture<String> pendingFuture = new CompletableFuture<>();
+        List<CompletableFuture<String>> futures = List.of(
+                CompletableFuture.completedFuture("1"),
+                CompletableFuture.failedFuture(new IllegalArgumentException()),
+                pendingFuture);
+
+        PartialResults<String> results = Futures.concatAllWithin(futures, Duration.ofMillis(50)).join();
+
+        assertThat(results.successful()).containsExactly("1");
+        assertThat(results.failures()).hasSize(1).first().isInstanceOf(IllegalArgumentException.class);
+        assertThat(results.timedOut()).containsExactly(pendingFuture);
+        assertThat(results.isComplete()).isFalse();
+    }
+
+    @Test
+    public void shouldReturnCompleteResults_whenConcatAllWithinDeadlineAndAllAreDone() {
+        List<CompletableFuture<String>> futures = List.of(CompletableFuture.completedFuture("1"), CompletableFuture.completedFuture("2"));
+
+        PartialResults<String> results = Futures.concatAllWithin(futures, Duration.ofSeconds(10)).join();
+
+        assertThat(results.successful()).containsExactly("1", "2");
+        assertThat(results.isComplete()).isTrue();
+    }
+
+    @Test
+    public void shouldFailAndCancelOtherFutures_whenConcatAllFailFastAndOneFails() {
+        CompletableFuture<String> pendingFuture = new CompletableFuture<>();
+        CompletableFuture<String> failingFuture = new CompletableFuture<>();
+
+        CompletableFuture<List<String>> allFutures = Futures.concatAllFailFast(List.of(pendingFuture, failingFuture));
+        failingFuture.completeExceptionally(new IllegalArgumentException());
+
+        assertThat(allFutures).isCompletedExceptionally();
+        assertThat(pendingFuture).isCancelled();
+    }
+
+    @Test
+    public void shouldReturnAllValues_whenConcatAllFailFastAndAllAreSuccessful() {
+        List<CompletableFuture<String>> futures = List.of(CompletableFuture.completedFuture("1"), CompletableFuture.completedFuture("2"));
+
+        assertThat(Futures.concatAllFailFast(futures).join()).containsExactly("1", "2");
+    }
+
+    @Test
+    public void shouldReturnFirstSuccessfulValue_whenAnyOf() {
+        CompletableFuture<String> pendingFuture = new CompletableFuture<>();
+        List<CompletableFuture<String>> futures = List.of(
+                CompletableFuture.failedFuture(new IllegalArgumentException()),
+                pendingFuture,
+                CompletableFuture.completedFuture("3"));
+
+        assertThat(Futures.anyOf(futures).join()).isEqualTo("3");
+    }
+
+    @Test
+    public void shouldFail_whenAnyOfAndAllFail() {
+        List<CompletableFuture<String>> futures = List.of(
+                CompletableFuture.failedFuture(new IllegalArgumentException()),
+                CompletableFuture.failedFuture(new IllegalStateException()));
+
+        CompletableFuture<String> anyFuture = Futures.anyOf(futures);
+
+        assertThat(anyFuture).isCompletedExceptionally();
+        assertThatThrownBy(anyFuture::join).hasCauseInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void shouldReturnFirstSuccessfulValuesInCompletionOrder() {
+        CompletableFuture<String> future1 = new CompletableFuture<>();
+        CompletableFuture<String> future2 = new CompletableFuture<>();
+        CompletableFuture<String> future3 = new CompletableFuture<>();
+
+        CompletableFuture<List<String>> firstTwo = Futures.firstSuccessful(List.of(future1, future2, future3), 2);
+        future3.complete("3");
+        future1.complete("1");
+
+        assertThat(firstTwo.join()).containsExactly("3", "1");
+    }
+
+    @Test
+    public void shouldMapItemsInOrderWithoutExceedingMaxInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxObservedInFlight = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Integer> mapped = Futures.mapAsync(IntStream.range(0, 50).boxed().collect(Collectors.toList()), item -> {
+            maxObservedInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            return CompletableFuture.supplyAsync(() -> {
+                sleep(1);
+                inFlight.decrementAndGet();
+                return item * 2;
+            }, executor);
+        }, 3).join();
+        executor.shutdown();
+
+        assertThat(mapped).containsExactlyElementsOf(IntStream.range(0, 50).map(i -> i * 2).boxed().collect(Collectors.toList()));
+        assertThat(maxObservedInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void shouldMapManyImmediatelyCompletedItems() {
+        List<Integer> mapped = Futures.mapAsync(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()),
+                CompletableFuture::completedFuture, 4).join();
+
+        assertThat(mapped).hasSize(100_000);
+    }
+
+    @Test
+    public void shouldStopMapping_whenAMappingFails() {
+        AtomicInteger startedMappings = new AtomicInteger();
+
+        CompletableFuture<List<Integer>> mapped = Futures.mapAsync(List.of(1, 2, 3, 4), item -> {
+            startedMappings.incrementAndGet();
+            return item == 2
+                    ? CompletableFuture.failedFuture(new IllegalArgumentException())
+                    : CompletableFuture.completedFuture(item);
+        }, 1);
+
+        assertThat(mapped).isCompletedExceptionally();
+        assertThat(startedMappings.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldFail_whenAMappingReturnsNull() {
+        CompletableFuture<List<Integer>> mapped = Futures.mapAsync(List.of(1, 2), item -> null, 1);
+
+        assertThatThrownBy(mapped::join).hasCauseInstanceOf(NullPointerException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
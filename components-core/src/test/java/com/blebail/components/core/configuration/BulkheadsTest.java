@@ -0,0 +1,41 @@
+package com.blebail.components.core.configuration;
+
+import com.blebail.components.core.async.Bulkhead;
+import com.blebail.components.core.async.BulkheadRegistry;
+import com.blebail.components.core.async.ConcurrencyLimitedTaskExecutor;
+import com.blebail.components.core.async.VirtualThreads;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BulkheadsTest {
+
+    private ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ThreadPool.class, Bulkheads.class)
+            .withPropertyValues("blebail.threadpool.coreSize=2", "blebail.threadpool.maxSize=2");
+
+    @Test
+    public void shouldUsePoolsOfPlatformThreads_whenModeIsPlatform() {
+        contextRunner.run(context -> {
+            BulkheadRegistry bulkheads = context.getBean(BulkheadRegistry.class);
+
+            assertThat(bulkheads.get("mail")).isInstanceOf(Bulkhead.class).isSameAs(context.getBean(Bulkheads.MAIL));
+            assertThat(bulkheads.get("image")).isInstanceOf(Bulkhead.class).isSameAs(context.getBean(Bulkheads.IMAGE));
+        });
+    }
+
+    @Test
+    public void shouldLimitEachBulkheadByItsPurpose_whenModeIsVirtual() {
+        assumeTrue(VirtualThreads.factory("test").isPresent());
+
+        contextRunner.withPropertyValues("blebail.threadpool.mode=VIRTUAL", "blebail.threadpool.limits.mail=10")
+                .run(context -> {
+                    BulkheadRegistry bulkheads = context.getBean(BulkheadRegistry.class);
+
+                    assertThat(((ConcurrencyLimitedTaskExecutor) bulkheads.get("mail")).availablePermits()).isEqualTo(10);
+                    assertThat(((ConcurrencyLimitedTaskExecutor) bulkheads.get("image")).availablePermits()).isEqualTo(256);
+                });
+    }
+}
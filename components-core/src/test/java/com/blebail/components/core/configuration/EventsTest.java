@@ -0,0 +1,46 @@
+package com.blebail.components.core.configuration;
+
+import com.blebail.components.core.event.AsyncEventBus;
+import com.blebail.components.core.event.DirectEventBus;
+import com.blebail.components.core.event.EventBus;
+import com.blebail.components.core.event.GuavaEventBus;
+import com.blebail.components.core.event.RingBufferEventBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventsTest {
+
+    private ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(Events.class, GuavaEventBus.class);
+
+    @Test
+    public void shouldUseGuavaEventBus_whenTypeIsMissing() {
+        contextRunner.run(context -> assertThat(context).getBean(EventBus.class).isInstanceOf(GuavaEventBus.class));
+    }
+
+    @Test
+    public void shouldUseGuavaEventBus_whenTypeIsGuava() {
+        contextRunner.withPropertyValues("blebail.eventbus.type=guava")
+                .run(context -> assertThat(context).getBean(EventBus.class).isInstanceOf(GuavaEventBus.class));
+    }
+
+    @Test
+    public void shouldUseDirectEventBus_whenTypeIsDirect() {
+        contextRunner.withPropertyValues("blebail.eventbus.type=direct")
+                .run(context -> assertThat(context).getBean(EventBus.class).isInstanceOf(DirectEventBus.class));
+    }
+
+    @Test
+    public void shouldUseAsyncEventBus_whenTypeIsAsync() {
+        contextRunner.withPropertyValues("blebail.eventbus.type=async")
+                .run(context -> assertThat(context).getBean(EventBus.class).isInstanceOf(AsyncEventBus.class));
+    }
+
+    @Test
+    public void shouldUseRingBufferEventBus_whenTypeIsRing() {
+        contextRunner.withPropertyValues("blebail.eventbus.type=ring")
+                .run(context -> assertThat(context).getBean(EventBus.class).isInstanceOf(RingBufferEventBus.class));
+    }
+}
@@ -1,16 +1,23 @@
 package com.blebail.components.core.configuration;
 
+import com.blebail.components.core.async.ConcurrencyLimitedTaskExecutor;
+import com.blebail.components.core.async.VirtualThreads;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.runner.RunWith;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.inject.Inject;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -39,4 +46,42 @@ public final class ThreadPoolIT {
 
         assertThat(taskExecutor.getThreadNamePrefix()).isEqualTo("java-components-spring-task-executor");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldLimitConcurrencyPerPurpose_whenModeIsVirtual() {
+        assumeTrue(VirtualThreads.factory("test").isPresent());
+        ThreadPool threadPool = threadPool(ThreadPool.Mode.VIRTUAL);
+
+        TaskExecutor taskExecutor = threadPool.taskExecutor();
+        TaskExecutor mailExecutor = threadPool.virtualThreadExecutor("mail").get();
+
+        assertThat(((ConcurrencyLimitedTaskExecutor) taskExecutor).availablePermits()).isEqualTo(256);
+        assertThat(((ConcurrencyLimitedTaskExecutor) mailExecutor).availablePermits()).isEqualTo(10);
+        assertThat(threadPool.virtualThreadExecutor("mail").get()).isSameAs(mailExecutor);
+    }
+
+    @Test
+    public void shouldKeepThePoolOfPlatformThreads_whenModeIsVirtualButVirtualThreadsAreNotSupported() {
+        assumeFalse(VirtualThreads.factory("test").isPresent());
+        ThreadPool threadPool = threadPool(ThreadPool.Mode.VIRTUAL);
+
+        assertThat(threadPool.taskExecutor()).isInstanceOf(ThreadPoolTaskExecutor.class);
+        assertThat(threadPool.virtualThreadExecutor("mail")).isEmpty();
+    }
+
+    @Test
+    public void shouldNotHaveVirtualThreadExecutors_whenModeIsPlatform() {
+        assertThat(tested.virtualThreadExecutor("mail")).isEmpty();
+    }
+
+    private static ThreadPool threadPool(ThreadPool.Mode mode) {
+        ThreadPool threadPool = new ThreadPool();
+        ReflectionTestUtils.setField(threadPool, "corePoolSize", 4);
+        ReflectionTestUtils.setField(threadPool, "maxPoolSize", 4);
+        ReflectionTestUtils.setField(threadPool, "mode", mode);
+        ReflectionTestUtils.setField(threadPool, "maxConcurrency", 256);
+        ReflectionTestUtils.setField(threadPool, "environment", new MockEnvironment().withProperty("blebail.threadpool.limits.mail", "10"));
+
+        return threadPool;
+    }
+}
@@ -0,0 +1,204 @@
+package com.blebail.components.core.event;
+
+import com.google.common.eventbus.Subscribe;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class AsyncEventBusTest {
+
+    private SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private AsyncEventBus tested;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        tested.close();
+    }
+
+    @Test
+    void shouldThrowException_whenPartitionCountIsZero() {
+        tested = new AsyncEventBus(1, 1, OverloadPolicy.BLOCK);
+
+        assertThrows(IllegalArgumentException.class, () -> new AsyncEventBus(0, 1, OverloadPolicy.BLOCK));
+    }
+
+    @Test
+    void shouldDeliverEventsSharingAKeyInOrder() throws Exception {
+        tested = new AsyncEventBus(4, 10, OverloadPolicy.BLOCK, AsyncEventBus::partitionKey, registry);
+        OrderListener listener = new OrderListener(1000);
+        tested.register(listener);
+
+        IntStream.range(0, 1000).forEach(i -> tested.post(new KeyedEvent("key" + (i % 3), i)));
+
+        assertThat(listener.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int key = 0; key < 3; key++) {
+            String partitionKey = "key" + key;
+            List<Integer> sequence = listener.events.stream()
+                    .filter(event -> event.key.equals(partitionKey))
+                    .map(event -> event.sequence)
+                    .collect(Collectors.toList());
+
+            assertThat(sequence).isSorted();
+        }
+    }
+
+    @Test
+    void shouldSerializeCallsToASubscriber_whenPartitionsDeliverConcurrently() throws Exception {
+        tested = new AsyncEventBus(2, 1000, OverloadPolicy.BLOCK, AsyncEventBus::partitionKey, registry);
+        ConcurrencyListener listener = new ConcurrencyListener(1000);
+        tested.register(listener);
+
+        IntStream.range(0, 1000).forEach(i -> tested.post(new KeyedEvent("key" + (i % 2), i)));
+
+        assertThat(listener.delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(listener.maxConcurrentCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotDeliverEvents_whenListenerIsUnregistered() throws Exception {
+        tested = new AsyncEventBus(1, 10, OverloadPolicy.BLOCK);
+        OrderListener listener = new OrderListener(1);
+        tested.register(listener);
+        tested.unregister(listener);
+
+        tested.post(new KeyedEvent("key", 1));
+        tested.close();
+
+        assertThat(listener.events).isEmpty();
+    }
+
+    @Test
+    void shouldDropEventsAndCountThem_whenQueueIsFullAndPolicyIsDrop() throws Exception {
+        tested = new AsyncEventBus(1, 1, OverloadPolicy.DROP, AsyncEventBus::partitionKey, registry);
+        BlockingListener listener = new BlockingListener();
+        tested.register(listener);
+
+        tested.post("first");
+        assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+        tested.post("queued");
+        tested.post("dropped");
+        listener.release.countDown();
+
+        assertThat(registry.get("blebail.eventbus.dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeliverEventOnCallerThread_whenQueueIsFullAndPolicyIsCallerRuns() throws Exception {
+        tested = new AsyncEventBus(1, 1, OverloadPolicy.CALLER_RUNS);
+        BlockingListener listener = new BlockingListener();
+        tested.register(listener);
+
+        tested.post("first");
+        assertThat(listener.started.await(5, TimeUnit.SECONDS)).isTrue();
+        tested.post("queued");
+        tested.post(42);
+        listener.release.countDown();
+
+        assertThat(listener.callerThreadDeliveries).isNotEmpty();
+    }
+
+    @Test
+    void shouldRecordDispatchLatency() throws Exception {
+        tested = new AsyncEventBus(1, 10, OverloadPolicy.BLOCK, AsyncEventBus::partitionKey, registry);
+        OrderListener listener = new OrderListener(1);
+        tested.register(listener);
+
+        tested.post(new KeyedEvent("key", 1));
+        tested.close();
+
+        assertThat(registry.get("blebail.eventbus.dispatch").timer().count()).isEqualTo(1);
+        assertThat(registry.get("blebail.eventbus.queue.depth").tag("partition", "0").gauge().value()).isZero();
+    }
+
+    private static final class KeyedEvent implements PartitionedEvent {
+
+        private final String key;
+
+        private final int sequence;
+
+        private KeyedEvent(String key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public Object partitionKey() {
+            return key;
+        }
+    }
+
+    private static final class OrderListener {
+
+        private final List<KeyedEvent> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch delivered;
+
+        private OrderListener(int expectedEvents) {
+            delivered = new CountDownLatch(expectedEvents);
+        }
+
+        @Subscribe
+        public void record(KeyedEvent event) {
+            events.add(event);
+            delivered.countDown();
+        }
+    }
+
+    private static final class ConcurrencyListener {
+
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        private final CountDownLatch delivered;
+
+        private ConcurrencyListener(int expectedEvents) {
+            delivered = new CountDownLatch(expectedEvents);
+        }
+
+        @Subscribe
+        public void record(KeyedEvent event) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            Thread.yield();
+            concurrentCalls.decrementAndGet();
+            delivered.countDown();
+        }
+    }
+
+    private static final class BlockingListener {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final Thread testThread = Thread.currentThread();
+
+        private final List<Object> callerThreadDeliveries = new CopyOnWriteArrayList<>();
+
+        @Subscribe
+        public void block(String event) throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+
+        @Subscribe
+        public void record(Integer event) {
+            if (Thread.currentThread() == testThread) {
+                callerThreadDeliveries.add(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.blebail.components.core.event;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DirectEventBusTest {
+
+    private DirectEventBus tested = new DirectEventBus();
+
+    @Test
+    void shouldRegisterAListenerThenSendEventsAndThenUnregisterTheListener() {
+        SomeListener someListener = new SomeListener();
+
+        tested.register(someListener);
+        tested.post(new SomeEvent("someMessage1"));
+        tested.post(new SomeEvent("someMessage2"));
+        tested.unregister(someListener);
+        tested.post(new SomeEvent("someMessage3"));
+
+        assertThat(someListener.messages).containsExactly("someMessage1", "someMessage2");
+    }
+
+    @Test
+    void shouldDeliverEventsToSubscribersOfTheirSuperTypes() {
+        SuperTypesListener superTypesListener = new SuperTypesListener();
+        tested.register(superTypesListener);
+
+        tested.post(new SomeEvent("someMessage"));
+
+        assertThat(superTypesListener.objects).hasSize(1);
+        assertThat(superTypesListener.messages).hasSize(1);
+    }
+
+    @Test
+    void shouldDeliverEventsToEveryListener_whenASubscriberFails() {
+        SomeListener someListener = new SomeListener();
+        tested.register(new FailingListener());
+        tested.register(someListener);
+
+        tested.post(new SomeEvent("someMessage"));
+
+        assertThat(someListener.messages).containsExactly("someMessage");
+    }
+
+    @Test
+    void shouldDeliverEventOnce_whenSubscriberMethodIsOverridden() {
+        OverridingListener overridingListener = new OverridingListener();
+        tested.register(overridingListener);
+
+        tested.post(new SomeEvent("someMessage"));
+
+        assertThat(overridingListener.messages).containsExactly("overridden someMessage");
+    }
+
+    @Test
+    void shouldDeliverEventsToListenersRegisteredAfterAPost() {
+        SomeListener someListener = new SomeListener();
+
+        tested.post(new SomeEvent("someMessage1"));
+        tested.register(someListener);
+        tested.post(new SomeEvent("someMessage2"));
+
+        assertThat(someListener.messages).containsExactly("someMessage2");
+    }
+
+    @Test
+    void shouldPostDeadEvent_whenEventHasNoSubscriber() {
+        DeadEventListener deadEventListener = new DeadEventListener();
+        tested.register(deadEventListener);
+
+        tested.post("unhandled");
+
+        assertThat(deadEventListener.events).containsExactly("unhandled");
+    }
+
+    @Test
+    void shouldDeliverEventsPostedBySubscribers_afterTheCurrentEvent() {
+        SomeListener someListener = new SomeListener();
+        tested.register(new ReentrantListener(tested));
+        tested.register(someListener);
+
+        tested.post(new SomeEvent("someMessage1"));
+
+        assertThat(someListener.messages).containsExactly("someMessage1", "reposted someMessage1");
+    }
+
+    @Test
+    void shouldSerializeCallsToASubscriber_whenItDoesntAllowConcurrentEvents() throws Exception {
+        ConcurrencyListener concurrencyListener = new ConcurrencyListener();
+        tested.register(concurrencyListener);
+
+        ExecutorService posters = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 4).forEach(poster -> posters.execute(() -> IntStream.range(0, 100).forEach(tested::post)));
+        posters.shutdown();
+        assertThat(posters.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(concurrencyListener.maxConcurrentCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrowException_whenSubscriberMethodHasNoParameter() {
+        assertThrows(IllegalArgumentException.class, () -> tested.register(new InvalidListener()));
+    }
+
+    private interface Message {
+
+        String message();
+    }
+
+    private static final class SomeEvent implements Message {
+
+        private final String message;
+
+        private SomeEvent(String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String message() {
+            return message;
+        }
+    }
+
+    private static class SomeListener {
+
+        protected final List<String> messages = new ArrayList<>();
+
+        @Subscribe
+        public void recordSomeEvent(SomeEvent someEvent) {
+            messages.add(someEvent.message);
+        }
+    }
+
+    private static final class OverridingListener extends SomeListener {
+
+        @Subscribe
+        @Override
+        public void recordSomeEvent(SomeEvent someEvent) {
+            messages.add("overridden " + someEvent.message);
+        }
+    }
+
+    private static final class SuperTypesListener {
+
+        private final List<Object> objects = new ArrayList<>();
+
+        private final List<String> messages = new ArrayList<>();
+
+        @Subscribe
+        public void recordObject(Object object) {
+            objects.add(object);
+        }
+
+        @Subscribe
+        public void recordMessage(Message message) {
+            messages.add(message.message());
+        }
+    }
+
+    private static final class FailingListener {
+
+        @Subscribe
+        public void fail(SomeEvent someEvent) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static final class DeadEventListener {
+
+        private final List<Object> events = new ArrayList<>();
+
+        @Subscribe
+        public void recordDeadEvent(DeadEvent deadEvent) {
+            events.add(deadEvent.getEvent());
+        }
+    }
+
+    private static final class ReentrantListener {
+
+        private final EventBus bus;
+
+        private ReentrantListener(EventBus bus) {
+            this.bus = bus;
+        }
+
+        @Subscribe
+        public void repost(SomeEvent someEvent) {
+            if (!someEvent.message.startsWith("reposted")) {
+                bus.post(new SomeEvent("reposted " + someEvent.message));
+            }
+        }
+    }
+
+    private static final class ConcurrencyListener {
+
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        @Subscribe
+        public void record(Integer event) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            Thread.yield();
+            concurrentCalls.decrementAndGet();
+        }
+    }
+
+    private static final class InvalidListener {
+
+        @Subscribe
+        public void nothing() {
+        }
+    }
+}
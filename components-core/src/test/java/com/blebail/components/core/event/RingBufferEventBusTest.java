@@ -0,0 +1,163 @@
+package com.blebail.components.core.event;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public final class RingBufferEventBusTest {
+
+    private RingBufferEventBus tested;
+
+    @AfterEach
+    void tearDown() {
+        if (tested != null) {
+            tested.close();
+        }
+    }
+
+    @Test
+    void shouldThrowException_whenBufferSizeIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferEventBus(10, WaitStrategy.PARK));
+    }
+
+    @Test
+    void shouldDeliverEveryEventInOrder_whenBufferWrapsAround() {
+        tested = new RingBufferEventBus(8, WaitStrategy.YIELD);
+        RecordingListener listener = new RecordingListener();
+        tested.register(listener);
+
+        IntStream.range(0, 1000).forEach(tested::post);
+        tested.close();
+
+        assertThat(listener.events).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void shouldDeliverEveryEventToEveryListener_whenPostingConcurrently() throws Exception {
+        tested = new RingBufferEventBus(16, WaitStrategy.BUSY_SPIN);
+        RecordingListener listener1 = new RecordingListener();
+        RecordingListener listener2 = new RecordingListener();
+        tested.register(listener1);
+        tested.register(listener2);
+
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 4).forEach(producer -> producers.execute(() ->
+                IntStream.range(0, 500).forEach(i -> tested.post(producer * 500 + i))));
+        producers.shutdown();
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        tested.close();
+
+        assertThat(listener1.events).hasSize(2000).doesNotHaveDuplicates();
+        assertThat(listener2.events).containsExactlyElementsOf(listener1.events);
+    }
+
+    @Test
+    void shouldTellWhereRunsEnd_whenListenerIsABatchListener() {
+        tested = new RingBufferEventBus(8, WaitStrategy.PARK);
+        List<Boolean> endOfBatches = new CopyOnWriteArrayList<>();
+        tested.register((EventBatchListener) (event, sequence, endOfBatch) -> endOfBatches.add(endOfBatch));
+
+        IntStream.range(0, 100).forEach(tested::post);
+        tested.close();
+
+        assertThat(endOfBatches).hasSize(100);
+        assertThat(endOfBatches.get(99)).isTrue();
+    }
+
+    @Test
+    void shouldKeepDeliveringEvents_whenListenerThrowsAnError() {
+        tested = new RingBufferEventBus(8, WaitStrategy.PARK);
+        List<Object> events = new CopyOnWriteArrayList<>();
+        tested.register((EventBatchListener) (event, sequence, endOfBatch) -> {
+            if (sequence == 0) {
+                throw new AssertionError("failed");
+            }
+
+            events.add(event);
+        });
+
+        IntStream.range(0, 3).forEach(tested::post);
+        tested.close();
+
+        assertThat(events).containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldFailPostsFromAListener_insteadOfWaitingForItself_whenBufferIsFull() {
+        tested = new RingBufferEventBus(4, WaitStrategy.PARK);
+        AtomicInteger failedPosts = new AtomicInteger();
+        tested.register((EventBatchListener) (event, sequence, endOfBatch) -> {
+            if (event.equals(0)) {
+                IntStream.rangeClosed(1, 10).forEach(i -> {
+                    try {
+                        tested.post(i);
+                    } catch (IllegalStateException e) {
+                        failedPosts.incrementAndGet();
+                    }
+                });
+            }
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            tested.post(0);
+            tested.close();
+        });
+
+        assertThat(failedPosts.get()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldClearSlots_onceEveryListenerHandledTheirEvent() {
+        tested = new RingBufferEventBus(8, WaitStrategy.PARK);
+        RecordingListener listener = new RecordingListener();
+        tested.register(listener);
+
+        IntStream.range(0, 3).forEach(tested::post);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (tested.retainedEvents() > 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+
+        assertThat(listener.events).containsExactly(0, 1, 2);
+        assertThat(tested.retainedEvents()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldNotDeliverEvents_whenListenerIsUnregistered() {
+        tested = new RingBufferEventBus(8, WaitStrategy.PARK);
+        RecordingListener listener = new RecordingListener();
+        tested.register(listener);
+        tested.unregister(listener);
+
+        tested.post(1);
+        tested.close();
+
+        assertThat(listener.events).isEmpty();
+    }
+
+    private static final class RecordingListener {
+
+        private final List<Integer> events = new CopyOnWriteArrayList<>();
+
+        @Subscribe
+        public void record(Integer event) {
+            events.add(event);
+        }
+    }
+}
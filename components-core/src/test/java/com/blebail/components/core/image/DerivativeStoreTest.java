@@ -0,0 +1,193 @@
+package com.blebail.components.core.image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class DerivativeStoreTest {
+
+    private static final ImageFormat THUMBNAIL = format(100, 75);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger generations = new AtomicInteger();
+
+    @Test
+    public void shouldGenerateDerivativeOnce_whenItIsRequestedConcurrently() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, (source, format, target) -> {
+            generations.incrementAndGet();
+            await(start);
+            Files.write(target.toPath(), new byte[10]);
+        });
+        File source = source("source.jpg", "image");
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        List<Future<File>> derivatives = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            derivatives.add(requests.submit(() -> tested.get(source, THUMBNAIL)));
+        }
+        Thread.sleep(50);
+        start.countDown();
+
+        for (Future<File> derivative : derivatives) {
+            assertThat(derivative.get(5, TimeUnit.SECONDS)).exists().isEqualTo(derivatives.get(0).get());
+        }
+        requests.shutdown();
+        assertThat(generations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldShareDerivative_whenSourcesHaveTheSameContent() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, this::generate);
+
+        File derivative = tested.get(source("first.jpg", "image"), THUMBNAIL);
+
+        assertThat(tested.get(source("second.jpg", "image"), THUMBNAIL)).isEqualTo(derivative);
+        assertThat(tested.get(source("third.jpg", "other image"), THUMBNAIL)).isNotEqualTo(derivative);
+        assertThat(tested.get(source("first.jpg", "image"), format(200, 150))).isNotEqualTo(derivative);
+        assertThat(generations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedDerivatives_whenMaxBytesIsExceeded() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 25, this::generate);
+        File first = source("first.jpg", "first");
+        File second = source("second.jpg", "second");
+
+        File firstDerivative = tested.get(first, THUMBNAIL);
+        File secondDerivative = tested.get(second, THUMBNAIL);
+        tested.get(first, THUMBNAIL);
+        File thirdDerivative = tested.get(source("third.jpg", "third"), THUMBNAIL);
+
+        assertThat(firstDerivative).exists();
+        assertThat(secondDerivative).doesNotExist();
+        assertThat(thirdDerivative).exists();
+        assertThat(tested.totalBytes()).isEqualTo(20);
+    }
+
+    @Test
+    public void shouldKeepOpenedDerivativeReadable_whenItIsEvicted() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 15, this::generate);
+        File first = source("first.jpg", "first");
+
+        try (InputStream firstDerivative = tested.open(first, THUMBNAIL)) {
+            tested.get(source("second.jpg", "second"), THUMBNAIL);
+
+            assertThat(tested.totalBytes()).isEqualTo(10);
+            assertThat(firstDerivative.readAllBytes()).hasSize(10);
+        }
+    }
+
+    @Test
+    public void shouldGenerateAgain_whenOpeningDerivativeDeletedBehindTheStore() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, this::generate);
+        File source = source("source.jpg", "image");
+        Files.delete(tested.get(source, THUMBNAIL).toPath());
+
+        try (InputStream derivative = tested.open(source, THUMBNAIL)) {
+            assertThat(derivative.readAllBytes()).hasSize(10);
+        }
+        assertThat(generations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldReuseDerivativesStoredBeforeARestart() throws Exception {
+        File source = source("source.jpg", "image");
+        File derivative = new DerivativeStore(directory.resolve("store"), 1_000, this::generate).get(source, THUMBNAIL);
+
+        DerivativeStore restarted = new DerivativeStore(directory.resolve("store"), 1_000, this::generate);
+
+        assertThat(restarted.get(source, THUMBNAIL)).isEqualTo(derivative);
+        assertThat(restarted.totalBytes()).isEqualTo(10);
+        assertThat(generations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotStoreAnything_whenGenerationFails() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, (source, format, target) -> {
+            Files.write(target.toPath(), new byte[10]);
+            throw new IOException("Corrupted image");
+        });
+
+        assertThrows(IOException.class, () -> tested.get(source("source.jpg", "image"), THUMBNAIL));
+
+        assertThat(tested.totalBytes()).isEqualTo(0);
+        try (Stream<Path> files = Files.walk(directory.resolve("store"))) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    public void shouldGenerateAgain_whenPreviousGenerationThrewAnError() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, (source, format, target) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OutOfMemoryError("Image too large");
+            }
+
+            generate(source, format, target);
+        });
+        File source = source("source.jpg", "image");
+
+        assertThrows(OutOfMemoryError.class, () -> tested.get(source, THUMBNAIL));
+
+        assertThat(tested.get(source, THUMBNAIL)).exists();
+        assertThat(generations.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldGenerateAgain_whenSourceContentChanges() throws Exception {
+        DerivativeStore tested = new DerivativeStore(directory.resolve("store"), 1_000, this::generate);
+
+        File derivative = tested.get(source("source.jpg", "image"), THUMBNAIL);
+        File changedDerivative = tested.get(source("source.jpg", "another image"), THUMBNAIL);
+
+        assertThat(changedDerivative).isNotEqualTo(derivative);
+        assertThat(generations.get()).isEqualTo(2);
+    }
+
+    private void generate(File source, ImageFormat format, File target) throws IOException {
+        generations.incrementAndGet();
+        Files.write(target.toPath(), new byte[10]);
+    }
+
+    private File source(String name, String content) throws IOException {
+        return Files.write(directory.resolve(name), content.getBytes()).toFile();
+    }
+
+    private static ImageFormat format(int width, int height) {
+        return new SimpleImageFormat.Builder()
+                .withWidth(width)
+                .withHeight(height)
+                .withExtension("jpg")
+                .withCompression(0.8f)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
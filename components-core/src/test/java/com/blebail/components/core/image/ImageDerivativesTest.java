@@ -0,0 +1,115 @@
+package com.blebail.components.core.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ImageDerivativesTest {
+
+    @TempDir
+    Path directory;
+
+    private ExecutorService executor;
+
+    private ImageDerivatives tested;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        tested = new ImageDerivatives(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldCompressTheSourceToEveryFormat() throws Exception {
+        Map<ImageFormat, File> targets = new LinkedHashMap<>();
+        targets.put(format(100, 75), directory.resolve("thumbnail.jpg").toFile());
+        targets.put(format(800, 600), directory.resolve("full.jpg").toFile());
+        targets.put(format(320, 180), directory.resolve("card.jpg").toFile());
+
+        tested.compress(image(1600, 1200), targets);
+
+        targets.forEach((format, target) -> {
+            BufferedImage compressed = read(target);
+            assertThat(compressed.getWidth()).isEqualTo(format.width());
+            assertThat(compressed.getHeight()).isEqualTo(format.height());
+        });
+    }
+
+    @Test
+    public void shouldThrowException_whenSourceIsNotAnImage() throws Exception {
+        File notAnImage = directory.resolve("notAnImage.jpg").toFile();
+        assertThat(notAnImage.createNewFile()).isTrue();
+
+        assertThrows(IOException.class, () -> tested.compress(notAnImage,
+                Collections.singletonMap(format(100, 75), directory.resolve("thumbnail.jpg").toFile())));
+    }
+
+    @Test
+    public void shouldThrowException_whenATargetCannotBeWritten() throws Exception {
+        File notADirectory = directory.resolve("notADirectory").toFile();
+        assertThat(notADirectory.createNewFile()).isTrue();
+
+        assertThrows(IOException.class, () -> tested.compress(image(400, 300),
+                Collections.singletonMap(format(100, 75), new File(notADirectory, "thumbnail.jpg"))));
+    }
+
+    @Test
+    public void shouldOnlyKeepTheIntermediatesRemainingFormatsAreResizedFrom() {
+        BufferedImage source = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        BufferedImage full = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        BufferedImage banner = new BufferedImage(1200, 500, BufferedImage.TYPE_INT_RGB);
+        List<BufferedImage> intermediates = List.of(source, banner, full);
+
+        assertThat(ImageDerivatives.unneeded(intermediates, List.of(format(320, 180), format(100, 75))))
+                .containsExactly(source, banner);
+        assertThat(ImageDerivatives.unneeded(intermediates, List.of(format(1000, 200))))
+                .containsExactly(source, full);
+        assertThat(ImageDerivatives.unneeded(intermediates, List.of()))
+                .containsExactly(source, banner, full);
+    }
+
+    private static ImageFormat format(int width, int height) {
+        return new SimpleImageFormat.Builder()
+                .withWidth(width)
+                .withHeight(height)
+                .withExtension("jpg")
+                .withCompression(0.8f)
+                .build();
+    }
+
+    private File image(int width, int height) throws IOException {
+        File source = directory.resolve("source.jpg").toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", source);
+
+        return source;
+    }
+
+    private static BufferedImage read(File image) {
+        try {
+            return ImageIO.read(image);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.blebail.components.core.image;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class JpgImageTest {
+
+    private static final ImageFormat THUMBNAIL = new SimpleImageFormat.Builder()
+            .withWidth(100)
+            .withHeight(75)
+            .withExtension("jpg")
+            .withCompression(0.8f)
+            .build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void shouldCompressToTheFormatSize() throws Exception {
+        File target = directory.resolve("thumbnail.jpg").toFile();
+
+        new JpgImage(image(1600, 1200), THUMBNAIL).compressTo(target);
+
+        BufferedImage compressed = ImageIO.read(target);
+        assertThat(compressed.getWidth()).isEqualTo(100);
+        assertThat(compressed.getHeight()).isEqualTo(75);
+    }
+
+    @Test
+    public void shouldDecodeWithSubsampling_whenSourceIsMuchLargerThanTarget() throws Exception {
+        BufferedImage decoded = JpgImage.decode(image(1600, 1200), 100, 75);
+
+        assertThat(decoded.getWidth()).isEqualTo(200);
+        assertThat(decoded.getHeight()).isEqualTo(150);
+    }
+
+    @Test
+    public void shouldSubsampleByTheSmallestStepOfBothDimensions() {
+        assertThat(JpgImage.subsampling(1600, 1200, 100, 75)).isEqualTo(8);
+        assertThat(JpgImage.subsampling(1600, 300, 100, 75)).isEqualTo(2);
+        assertThat(JpgImage.subsampling(150, 100, 100, 75)).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldThrowException_whenSourceIsNotAnImage() throws Exception {
+        File notAnImage = directory.resolve("notAnImage.jpg").toFile();
+        assertThat(notAnImage.createNewFile()).isTrue();
+
+        assertThrows(IOException.class, () -> new JpgImage(notAnImage, THUMBNAIL).compressTo(directory.resolve("target.jpg").toFile()));
+    }
+
+    private File image(int width, int height) throws IOException {
+        File source = directory.resolve("source-" + width + "x" + height + ".jpg").toFile();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpg", source);
+
+        return source;
+    }
+}
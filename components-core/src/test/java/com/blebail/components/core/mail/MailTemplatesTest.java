@@ -0,0 +1,99 @@
+package com.blebail.components.core.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public final class MailTemplatesTest {
+
+    private ITemplateEngine templateEngineMock;
+
+    private MailTemplates tested;
+
+    @BeforeEach
+    void setUp() {
+        templateEngineMock = mock(ITemplateEngine.class);
+        doReturn("<div>processed</div>").when(templateEngineMock).process(anyString(), any(Context.class));
+
+        tested = new MailTemplates(templateEngineMock, "blebail", "https://blebail.com");
+    }
+
+    @Test
+    void shouldRenderWithMailAndGlobalParameters_withoutModifyingThem() {
+        Map<String, Object> parameters = Collections.singletonMap("userName", "john");
+
+        assertThat(tested.render("signUp", parameters, Locale.FRENCH)).isEqualTo("<div>processed</div>");
+
+        ArgumentCaptor<Context> context = ArgumentCaptor.forClass(Context.class);
+        verify(templateEngineMock).process(eq("signUp"), context.capture());
+        assertThat(context.getValue().getLocale()).isEqualTo(Locale.FRENCH);
+        assertThat(context.getValue().getVariable("userName")).isEqualTo("john");
+        assertThat(context.getValue().getVariable("domainName")).isEqualTo("blebail");
+        assertThat(context.getValue().getVariable("domainUrl")).isEqualTo("https://blebail.com");
+        assertThat(parameters).containsOnlyKeys("userName");
+    }
+
+    @Test
+    void shouldNotLetMailParametersOverrideGlobalParameters() {
+        tested.render("signUp", Collections.singletonMap("domainName", "other"));
+
+        ArgumentCaptor<Context> context = ArgumentCaptor.forClass(Context.class);
+        verify(templateEngineMock).process(eq("signUp"), context.capture());
+        assertThat(context.getValue().getVariable("domainName")).isEqualTo("blebail");
+    }
+
+    @Test
+    void shouldParseTemplatesOnceWhenPreloading_andRenderTheCachedOnes_skippingFailingOnes() {
+        CountingTemplateResolver templateResolver = new CountingTemplateResolver();
+        TemplateEngine templateEngine = new TemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        tested = new MailTemplates(templateEngine, "blebail", "https://blebail.com");
+        String template = "<p th:text=\"${domainName}\">name</p>";
+
+        tested.preload(Arrays.asList(template, "broken"));
+
+        assertThat(templateResolver.resolutions).isEqualTo(2);
+        assertThat(tested.render(template, Collections.emptyMap(), Locale.FRENCH)).isEqualTo("<p>blebail</p>");
+        assertThat(templateResolver.resolutions).isEqualTo(2);
+    }
+
+    private static final class CountingTemplateResolver extends StringTemplateResolver {
+
+        private int resolutions;
+
+        private CountingTemplateResolver() {
+            setCacheable(true);
+        }
+
+        @Override
+        protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate, String template,
+                                                            Map<String, Object> templateResolutionAttributes) {
+            resolutions++;
+
+            if ("broken".equals(template)) {
+                throw new IllegalStateException("Broken template");
+            }
+
+            return super.computeTemplateResource(configuration, ownerTemplate, template, templateResolutionAttributes);
+        }
+    }
+}
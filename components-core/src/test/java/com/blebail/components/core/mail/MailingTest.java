@@ -2,17 +2,25 @@ package com.blebail.components.core.mail;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
 import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -32,7 +40,7 @@ public final class MailingTest {
         doReturn("<div>processed</div>").when(templateEngineMock).process(anyString(), any(Context.class));
         doReturn(new JavaMailSenderImpl().createMimeMessage()).when(javaMailSenderMock).createMimeMessage();
 
-        tested = new Mailing(templateEngineMock, javaMailSenderMock);
+        tested = new Mailing(new MailTemplates(templateEngineMock, "blebail", "https://blebail.com"), javaMailSenderMock, 50, 2);
     }
 
     @Test
@@ -64,4 +72,75 @@ public final class MailingTest {
 
         verify(javaMailSenderMock).send(any(MimeMessage.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSendBatchesOfMessages_whenSendingSeveralMails() {
+        RecordingMailSender mailSender = new RecordingMailSender();
+        tested = new Mailing(new MailTemplates(templateEngineMock, "blebail", "https://blebail.com"), mailSender, 2, 1);
+
+        List<MailFailure> failures = tested.send(Arrays.asList(rawMail("to1@blebail.com"), rawMail("to2@blebail.com"), rawMail("to3@blebail.com")));
+
+        assertThat(failures).isEmpty();
+        assertThat(mailSender.batchSizes).containsExactly(2, 1);
+    }
+
+    @Test
+    void shouldReportFailedMails_whenSomeMessagesAreRejected() {
+        RecordingMailSender mailSender = new RecordingMailSender();
+        mailSender.rejectedIndex = 1;
+        tested = new Mailing(new MailTemplates(templateEngineMock, "blebail", "https://blebail.com"), mailSender, 2, 1);
+        Mail rejected = rawMail("rejected@blebail.com");
+
+        List<MailFailure> failures = tested.send(Arrays.asList(rawMail("to@blebail.com"), rejected));
+
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0).mail()).isEqualTo(rejected);
+        assertThat(failures.get(0).cause()).hasMessage("Rejected");
+    }
+
+    @Test
+    void shouldReportFailedMails_whenRenderingFails() {
+        RecordingMailSender mailSender = new RecordingMailSender();
+        tested = new Mailing(new MailTemplates(templateEngineMock, "blebail", "https://blebail.com"), mailSender, 2, 1);
+        Mail templated = new Mail.MailBuilder()
+                .from("from@blebail.com")
+                .to("to@blebail.com")
+                .subject("Subject")
+                .templateName("brokenTemplate")
+                .noParameters()
+                .build();
+        doThrow(new IllegalStateException("Broken template")).when(templateEngineMock).process(eq("brokenTemplate"), any(Context.class));
+
+        List<MailFailure> failures = tested.send(Arrays.asList(templated, rawMail("to@blebail.com")));
+
+        assertThat(failures).extracting(MailFailure::mail).containsExactly(templated);
+        assertThat(mailSender.batchSizes).containsExactly(1);
+    }
+
+    private static Mail rawMail(String to) {
+        return new Mail.MailBuilder()
+                .from("from@blebail.com")
+                .to(to)
+                .subject("Subject")
+                .rawContent("<h1>Ok</h1>")
+                .build();
+    }
+
+    private static final class RecordingMailSender extends JavaMailSenderImpl {
+
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        private int rejectedIndex = -1;
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            batchSizes.add(mimeMessages.length);
+
+            if (rejectedIndex >= 0) {
+                Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+                failedMessages.put(originalMessages[rejectedIndex], new IllegalStateException("Rejected"));
+                throw new MailSendException(failedMessages);
+            }
+        }
+    }
+}
@@ -2,10 +2,16 @@ package com.blebail.components.core.resource;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class IdTest {
 
@@ -24,13 +30,73 @@ public final class IdTest {
 
     @Test
     public void shouldGenerateUniqueIds() {
-        int ITERATIONS = 100_000;
+        int iterations = 100_000;
         Set<String> ids = new HashSet<>();
 
-        for (int i = 0; i < ITERATIONS; i++) {
+        for (int i = 0; i < iterations; i++) {
             ids.add(Id.random());
         }
 
-        assertThat(ids).hasSize(ITERATIONS);
+        assertThat(ids).hasSize(iterations);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGenerateATimeOrderedIdOfSize32() {
+        String id = Id.next();
+
+        assertThat(id).hasSize(32);
+        assertThat(id).matches("[0-9a-f]*");
+    }
+
+    @Test
+    public void shouldGenerateIncreasingTimeOrderedIds() {
+        String previousId = Id.next();
+
+        for (int i = 0; i < 100_000; i++) {
+            String id = Id.next();
+
+            assertThat(id).isGreaterThan(previousId);
+            previousId = id;
+        }
+    }
+
+    @Test
+    public void shouldGenerateUniqueTimeOrderedIds_whenGeneratingConcurrently() throws Exception {
+        int iterations = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> generatedIds = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            generatedIds.add(executor.submit(() -> {
+                List<String> ids = new ArrayList<>();
+                for (int j = 0; j < iterations; j++) {
+                    ids.add(Id.next());
+                }
+                return ids;
+            }));
+        }
+
+        Set<String> ids = new HashSet<>();
+        for (Future<List<String>> threadIds : generatedIds) {
+            ids.addAll(threadIds.get());
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(4 * iterations);
+    }
+
+    @Test
+    public void shouldConvertIdToBytesAndBack() {
+        String id = Id.next();
+
+        byte[] bytes = Id.toBytes(id);
+
+        assertThat(bytes).hasSize(16);
+        assertThat(Id.fromBytes(bytes)).isEqualTo(id);
+    }
+
+    @Test
+    public void shouldThrowException_whenConvertingInvalidIdToBytes() {
+        assertThrows(IllegalArgumentException.class, () -> Id.toBytes("not-an-id"));
+    }
+}
@@ -6,6 +6,7 @@ import com.querydsl.sql.SQLTemplates;
 import com.querydsl.sql.spring.SpringConnectionProvider;
 import com.querydsl.sql.spring.SpringExceptionTranslator;
 import com.querydsl.sql.types.JSR310InstantType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,10 +14,27 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.time.Duration;
+import java.util.Set;
 
 @Configuration
 public class Persistence {
 
+    @Value("${blebail.slowqueries.thresholdMs:0}")
+    private long slowQueryThresholdMs;
+
+    @Value("${blebail.slowqueries.sampleRate:1}")
+    private double slowQuerySampleRate;
+
+    @Value("${blebail.slowqueries.maxLogsPerSecond:10}")
+    private int slowQueryMaxLogsPerSecond;
+
+    @Value("${blebail.slowqueries.maskedColumns:password,token}")
+    private Set<String> slowQueryMaskedColumns;
+
+    @Value("${blebail.slowqueries.callerPackage:com.blebail}")
+    private String slowQueryCallerPackage;
+
     @Bean
     public com.querydsl.sql.Configuration querydslConfiguration() {
         SQLTemplates templates = MySQLTemplates.builder().build();
@@ -25,6 +43,15 @@ public class Persistence {
         configuration.setExceptionTranslator(new SpringExceptionTranslator());
         configuration.register(new JSR310InstantType());
 
+        if (slowQueryThresholdMs > 0) {
+            configuration.addListener(new SlowQueryListener(
+                    Duration.ofMillis(slowQueryThresholdMs),
+                    slowQuerySampleRate,
+                    slowQueryMaxLogsPerSecond,
+                    slowQueryMaskedColumns,
+                    slowQueryCallerPackage));
+        }
+
         return configuration;
     }
 
@@ -0,0 +1,41 @@
+package com.blebail.components.persistence.configuration;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * A read replica, read-only transactions are spread across healthy replicas according to their weight.
+ */
+public final class Replica {
+
+    private final DataSource dataSource;
+
+    private final int weight;
+
+    private volatile boolean healthy = true;
+
+    public Replica(DataSource dataSource, int weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Replica weight should be greater than 0");
+        }
+
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.weight = weight;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    public int weight() {
+        return weight;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void markHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+}
@@ -0,0 +1,198 @@
+package com.blebail.components.persistence.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routes read-only transactions to healthy replicas, picked according to their weight, and everything else to the primary.
+ * Read-only transactions started by a thread shortly after it wrote still go to the primary, so that it reads its own writes.
+ * The lookup relies on the transaction being read-only, which is only known once the transaction has started,
+ * this data source must therefore be wrapped in a LazyConnectionDataSourceProxy.
+ * The primary and replica data sources are owned by this data source, closeable ones are closed when it is destroyed.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private static final int HEALTH_CHECK_TIMEOUT_SECONDS = 1;
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final long readYourWritesWindowNanos;
+
+    private final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+
+    private ScheduledExecutorService healthChecks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration readYourWritesWindow) {
+        this.primary = Objects.requireNonNull(primary);
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targetDataSources.put(i, this.replicas.get(i).dataSource());
+        }
+
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Checks the replicas periodically, unhealthy replicas don't receive reads until they are healthy again.
+     * @param interval time between two checks
+     */
+    public synchronized void startHealthChecks(Duration interval) {
+        if (healthChecks != null) {
+            throw new IllegalStateException("Health checks are already started");
+        }
+
+        healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-checks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether each replica hands out valid connections.
+     */
+    public void checkReplicas() {
+        replicas.forEach(replica -> {
+            boolean healthy = isValid(replica);
+
+            if (healthy != replica.isHealthy()) {
+                LOGGER.warn("Replica {} is now {}", replicas.indexOf(replica), healthy ? "healthy" : "unhealthy");
+            }
+
+            replica.markHealthy(healthy);
+        });
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (healthChecks != null) {
+            healthChecks.shutdownNow();
+            healthChecks = null;
+        }
+
+        close(primary);
+        replicas.forEach(replica -> close(replica.dataSource()));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                    @Override
+                    public void afterCommit() {
+                        lastWriteNanos.set(System.nanoTime());
+                    }
+                });
+            }
+
+            return PRIMARY;
+        }
+
+        if (hasWrittenRecently()) {
+            return PRIMARY;
+        }
+
+        Integer replica = pickReplica();
+
+        return replica != null ? replica : PRIMARY;
+    }
+
+    private boolean hasWrittenRecently() {
+        Long lastWrite = lastWriteNanos.get();
+
+        if (lastWrite == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - lastWrite < readYourWritesWindowNanos) {
+            return true;
+        }
+
+        lastWriteNanos.remove();
+
+        return false;
+    }
+
+    private Integer pickReplica() {
+        int totalWeight = 0;
+
+        for (Replica replica : replicas) {
+            if (replica.isHealthy()) {
+                totalWeight += replica.weight();
+            }
+        }
+
+        if (totalWeight == 0) {
+            return null;
+        }
+
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+
+            if (replica.isHealthy()) {
+                pick -= replica.weight();
+
+                if (pick < 0) {
+                    return i;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private void close(DataSource dataSource) {
+        if (!(dataSource instanceof AutoCloseable)) {
+            return;
+        }
+
+        try {
+            ((AutoCloseable) dataSource).close();
+        } catch (Exception e) {
+            LOGGER.warn("Could not close data source", e);
+        }
+    }
+
+    private boolean isValid(Replica replica) {
+        try (Connection connection = replica.dataSource().getConnection()) {
+            return connection.isValid(HEALTH_CHECK_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
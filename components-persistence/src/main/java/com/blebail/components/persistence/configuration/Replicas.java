@@ -0,0 +1,70 @@
+package com.blebail.components.persistence.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to read replicas, the primary is configured by the spring.datasource properties,
+ * replicas share its driver and credentials.
+ */
+@Profile("replicas")
+@Configuration
+public class Replicas {
+
+    @Value("${blebail.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${blebail.replicas.weights:}")
+    private List<Integer> weights;
+
+    @Value("${blebail.replicas.healthCheckIntervalMs:5000}")
+    private long healthCheckIntervalMs;
+
+    @Value("${blebail.replicas.readYourWritesWindowMs:1000}")
+    private long readYourWritesWindowMs;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties) {
+        if (!weights.isEmpty() && weights.size() != urls.size()) {
+            throw new IllegalStateException("There should be as many replica weights as replica urls");
+        }
+
+        List<Replica> replicas = new ArrayList<>();
+
+        for (int i = 0; i < urls.size(); i++) {
+            DataSource replica = DataSourceBuilder.create()
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(urls.get(i))
+                    .username(properties.determineUsername())
+                    .password(properties.determinePassword())
+                    .build();
+
+            replicas.add(new Replica(replica, weights.isEmpty() ? 1 : weights.get(i)));
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                properties.initializeDataSourceBuilder().build(),
+                replicas,
+                Duration.ofMillis(readYourWritesWindowMs));
+        routingDataSource.startHealthChecks(Duration.ofMillis(healthCheckIntervalMs));
+
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
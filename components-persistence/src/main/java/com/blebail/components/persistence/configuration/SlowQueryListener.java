@@ -0,0 +1,159 @@
+package com.blebail.components.persistence.configuration;
+
+import com.querydsl.sql.SQLBaseListener;
+import com.querydsl.sql.SQLBindings;
+import com.querydsl.sql.SQLListenerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the statements that take longer than a threshold, with their SQL, their bindings and the calling method.
+ * Bindings of statements referencing sensitive columns are masked.
+ * Slow statements are sampled and the number of logs per second is limited, skipped logs are counted in the next one.
+ */
+public class SlowQueryListener extends SQLBaseListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final String START = SlowQueryListener.class.getName() + ".start";
+
+    private static final String MASK = "****";
+
+    private static final Pattern IDENTIFIER = Pattern.compile("(\\w+)");
+
+    private static final String NON_CALLER_PACKAGE = "com.blebail.components.persistence.";
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final int maxLogsPerSecond;
+
+    private final Set<String> maskedColumns;
+
+    private final String callerPackage;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+
+    private final AtomicInteger logsInCurrentSecond = new AtomicInteger();
+
+    private final AtomicLong skippedLogs = new AtomicLong();
+
+    public SlowQueryListener(Duration threshold, double sampleRate, int maxLogsPerSecond, Set<String> maskedColumns, String callerPackage) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate should be between 0 and 1");
+        }
+
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        this.maskedColumns = maskedColumns.stream()
+                .map(column -> column.substring(column.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.callerPackage = Objects.requireNonNull(callerPackage);
+    }
+
+    @Override
+    public void start(SQLListenerContext context) {
+        context.setData(START, System.nanoTime());
+    }
+
+    @Override
+    public void end(SQLListenerContext context) {
+        Object start = context.getData(START);
+
+        if (start == null) {
+            return;
+        }
+
+        long elapsedNanos = System.nanoTime() - (Long) start;
+
+        if (elapsedNanos < thresholdNanos || context.getSQL() == null) {
+            return;
+        }
+
+        if (!isSampled() || !acquireLog(System.nanoTime())) {
+            skippedLogs.incrementAndGet();
+            return;
+        }
+
+        SQLBindings bindings = context.getSQLBindings();
+        List<Object> maskedBindings = bindings != null
+                ? mask(context.getSQL(), bindings.getNullFriendlyBindings())
+                : Collections.emptyList();
+
+        LOGGER.warn("Slow query took {} ms in {} ({} skipped): {} {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                caller(),
+                skippedLogs.getAndSet(0),
+                context.getSQL(),
+                maskedBindings);
+    }
+
+    /**
+     * Replaces every binding of a statement referencing a masked column,
+     * bindings can't be reliably matched to columns once they are wrapped in functions or expressions.
+     */
+    List<Object> mask(String sql, List<Object> bindings) {
+        if (!referencesMaskedColumn(sql)) {
+            return bindings;
+        }
+
+        return Collections.nCopies(bindings.size(), MASK);
+    }
+
+    /**
+     * Whether a slow statement can be logged, at most max logs per second are allowed.
+     */
+    boolean acquireLog(long nowNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos);
+        long loggedSecond = currentSecond.get();
+
+        if (second != loggedSecond && currentSecond.compareAndSet(loggedSecond, second)) {
+            logsInCurrentSecond.set(0);
+        }
+
+        return logsInCurrentSecond.incrementAndGet() <= maxLogsPerSecond;
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private boolean referencesMaskedColumn(String sql) {
+        Matcher identifier = IDENTIFIER.matcher(sql);
+
+        while (identifier.find()) {
+            if (maskedColumns.contains(identifier.group(1).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(callerPackage))
+                .filter(frame -> !frame.getClassName().startsWith(NON_CALLER_PACKAGE))
+                .filter(frame -> !frame.getClassName().endsWith("Repository"))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+}
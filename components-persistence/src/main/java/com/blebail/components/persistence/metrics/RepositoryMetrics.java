@@ -0,0 +1,44 @@
+package com.blebail.components.persistence.metrics;
+
+import com.blebail.components.persistence.resource.repository.SpringBaseRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Instruments the public methods of every repository with Micrometer meters.
+ * The advisor is applied by the same auto proxy creator as transactions and runs around them,
+ * no repository is proxied when the metrics profile is not active.
+ * The meter registry is only resolved on the first repository call, so that the advisor doesn't initialize it early.
+ * Connection pool metrics, such as connection acquisition time, are published by Spring Boot for the pool itself.
+ */
+@Profile("metrics")
+@Configuration
+public class RepositoryMetrics {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor repositoryMetricsAdvisor(ObjectProvider<MeterRegistry> registry) {
+        StaticMethodMatcherPointcutAdvisor advisor = new StaticMethodMatcherPointcutAdvisor(new RepositoryMetricsInterceptor(registry)) {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return SpringBaseRepository.class.isAssignableFrom(targetClass)
+                        && Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass() != Object.class;
+            }
+        };
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return advisor;
+    }
+}
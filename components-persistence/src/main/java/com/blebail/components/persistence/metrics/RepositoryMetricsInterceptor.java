@@ -0,0 +1,119 @@
+package com.blebail.components.persistence.metrics;
+
+import com.blebail.querydsl.crud.commons.page.Page;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, for each repository class and method, the latency and the number of calls by outcome,
+ * and the number of rows returned or affected when the result tells it.
+ * Meters are created once per repository method, a call only looks them up.
+ * The registry is resolved lazily, calls made while no registry is available are not recorded.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    public static final String CALLS = "blebail.repository.calls";
+
+    public static final String ROWS = "blebail.repository.rows";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    private final Map<List<Object>, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry registry;
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = Objects.requireNonNull(registryProvider);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (registry == null) {
+            registry = registryProvider.getIfAvailable();
+
+            if (registry == null) {
+                return invocation.proceed();
+            }
+        }
+
+        Class<?> repositoryClass = AopUtils.getTargetClass(invocation.getThis());
+        Method method = invocation.getMethod();
+        MethodMeters methodMeters = meters.computeIfAbsent(List.of(repositoryClass, method),
+                key -> new MethodMeters(repositoryClass.getSimpleName(), method.getName()));
+
+        long start = System.nanoTime();
+
+        try {
+            Object result = invocation.proceed();
+
+            methodMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            rows(method, result).ifPresent(methodMeters.rows::record);
+
+            return result;
+        } catch (Throwable t) {
+            methodMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
+        }
+    }
+
+    private Optional<Long> rows(Method method, Object result) {
+        if (result instanceof Collection) {
+            return Optional.of((long) ((Collection<?>) result).size());
+        }
+
+        if (result instanceof Optional) {
+            return Optional.of(((Optional<?>) result).isPresent() ? 1L : 0L);
+        }
+
+        if (result instanceof Page) {
+            return Optional.of((long) ((Page<?>) result).items().size());
+        }
+
+        if (result instanceof Number && !method.getName().startsWith("count")) {
+            return Optional.of(((Number) result).longValue());
+        }
+
+        return Optional.empty();
+    }
+
+    private final class MethodMeters {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final DistributionSummary rows;
+
+        private MethodMeters(String repository, String method) {
+            success = timer(repository, method, "success");
+            error = timer(repository, method, "error");
+            rows = DistributionSummary.builder(ROWS)
+                    .description("Rows returned or affected by repository calls")
+                    .tags("repository", repository, "method", method)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private Timer timer(String repository, String method, String outcome) {
+            return Timer.builder(CALLS)
+                    .description("Repository calls, including connection acquisition and transaction handling")
+                    .tags("repository", repository, "method", method, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
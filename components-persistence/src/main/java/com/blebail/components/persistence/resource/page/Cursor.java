@@ -0,0 +1,88 @@
+package com.blebail.components.persistence.resource.page;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Position in a keyset pagination, made of the sort value and the id of the last resource of a page.
+ * It is exchanged with clients as an opaque url-safe token.
+ * @param <S> sort value type
+ * @param <K> id type
+ */
+public final class Cursor<S, K> {
+
+    private static final String SEPARATOR = ".";
+
+    public final S sortValue;
+    public final K id;
+
+    public Cursor(S sortValue, K id) {
+        this.sortValue = requireNonNull(sortValue, "Keyset sort values should not be null");
+        this.id = requireNonNull(id);
+    }
+
+    public String token() {
+        return encode(sortValue) + SEPARATOR + encode(id);
+    }
+
+    public static <S, K> Cursor<S, K> parse(String token, Class<? extends S> sortType, Class<? extends K> idType) {
+        String[] parts = requireNonNull(token).split("\\.", -1);
+
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Cursor is not valid");
+        }
+
+        try {
+            return new Cursor<>(sortType.cast(decode(parts[0], sortType)), idType.cast(decode(parts[1], idType)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor is not valid", e);
+        }
+    }
+
+    private static String encode(Object value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object decode(String part, Class<?> type) {
+        String value = new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+
+        if (type == String.class) {
+            return value;
+        } else if (type == Instant.class) {
+            return Instant.parse(value);
+        } else if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(value);
+        } else if (type == LocalDate.class) {
+            return LocalDate.parse(value);
+        } else if (type == Long.class) {
+            return Long.valueOf(value);
+        } else if (type == Integer.class) {
+            return Integer.valueOf(value);
+        } else if (type == BigDecimal.class) {
+            return new BigDecimal(value);
+        }
+
+        throw new IllegalArgumentException(String.format("Cursor values of type %s are not supported", type.getName()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Cursor<?, ?> cursor = (Cursor<?, ?>) o;
+        return Objects.equals(sortValue, cursor.sortValue) &&
+                Objects.equals(id, cursor.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sortValue, id);
+    }
+}
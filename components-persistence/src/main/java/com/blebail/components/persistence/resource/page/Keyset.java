@@ -0,0 +1,65 @@
+package com.blebail.components.persistence.resource.page;
+
+import com.blebail.components.persistence.resource.Persistable;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Describes how resources are ordered for keyset pagination : by a sort column, then by the id to break ties.
+ * The sort column must not be nullable, and an index on (sort column, id) keeps every page a constant time seek.
+ * @param <T> resource type
+ * @param <S> sort value type
+ * @param <K> id type
+ */
+public final class Keyset<T, S extends Comparable<?>, K extends Comparable<?>> {
+
+    public final ComparableExpressionBase<S> sortPath;
+    public final Function<T, S> sortValue;
+    public final ComparableExpressionBase<K> idPath;
+    public final Function<T, K> idValue;
+    public final Sort.Direction direction;
+
+    public Keyset(
+            ComparableExpressionBase<S> sortPath,
+            Function<T, S> sortValue,
+            ComparableExpressionBase<K> idPath,
+            Function<T, K> idValue,
+            Sort.Direction direction) {
+        this.sortPath = requireNonNull(sortPath);
+        this.sortValue = requireNonNull(sortValue);
+        this.idPath = requireNonNull(idPath);
+        this.idValue = requireNonNull(idValue);
+        this.direction = requireNonNull(direction);
+    }
+
+    public static <T extends Persistable<ID>, ID extends Comparable<?>> Keyset<T, Instant, ID> byCreationDate(
+            ComparableExpressionBase<Instant> creationDatePath,
+            ComparableExpressionBase<ID> idPath,
+            Sort.Direction direction) {
+        return new Keyset<>(creationDatePath, Persistable::creationDate, idPath, Persistable::id, direction);
+    }
+
+    /**
+     * Builds the cursor pointing after a resource.
+     * @param resource the last resource of a page
+     * @return the cursor pointing after the resource
+     */
+    public Cursor<S, K> cursorAfter(T resource) {
+        return new Cursor<>(sortValue.apply(resource), idValue.apply(resource));
+    }
+
+    /**
+     * Parses a cursor token according to the sort and id types.
+     * @param token the cursor token
+     * @return the cursor
+     * @throws IllegalArgumentException if the token is not a valid cursor for this keyset
+     */
+    public Cursor<S, K> parse(String token) {
+        return Cursor.parse(token, sortPath.getType(), idPath.getType());
+    }
+}
@@ -0,0 +1,33 @@
+package com.blebail.components.persistence.resource.page;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Page of resources found by keyset pagination, with the cursor of the next page if there is one.
+ * @param <T> resource type
+ */
+public final class KeysetPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = requireNonNull(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> items() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public Optional<String> nextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
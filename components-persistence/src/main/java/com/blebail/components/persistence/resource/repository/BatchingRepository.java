@@ -0,0 +1,26 @@
+package com.blebail.components.persistence.resource.repository;
+
+import java.util.Collection;
+
+/**
+ * Writes rows without reading them beforehand, inserts by JDBC batches and updates with a single statement.
+ * @param <R> row type
+ * @see SpringCrudRepository
+ */
+public interface BatchingRepository<R> {
+
+    /**
+     * Inserts rows by batches of batch size rows.
+     * @param resources the rows to insert
+     * @param batchSize the maximum number of rows per batch
+     * @return the number of inserted rows
+     */
+    long insert(Collection<R> resources, int batchSize);
+
+    /**
+     * Updates an existing row.
+     * @param resource the row to update
+     * @return true if the row existed and has been updated, false otherwise
+     */
+    boolean update(R resource);
+}
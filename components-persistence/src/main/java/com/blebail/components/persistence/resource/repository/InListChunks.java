@@ -0,0 +1,76 @@
+package com.blebail.components.persistence.resource.repository;
+
+import com.google.common.collect.Iterables;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Splits ids into chunks whose sizes belong to a fixed set of buckets,
+ * the last chunk is padded by repeating its last id up to the size of its bucket.
+ * This way an IN clause of any size is run with a few statement shapes only, which keeps them cacheable.
+ */
+final class InListChunks {
+
+    static final int[] BUCKET_SIZES = {1, 4, 16, 64, 256, 1000};
+
+    static final int MAX_CHUNK_SIZE = BUCKET_SIZES[BUCKET_SIZES.length - 1];
+
+    private InListChunks() {
+    }
+
+    /**
+     * Returns the distinct, non null ids split in chunks sized according to buckets.
+     * @param ids the ids to split
+     * @param <ID> the id type
+     * @return the chunks, empty if there is no id
+     */
+    static <ID> List<List<ID>> of(Iterable<ID> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+
+        Set<ID> distinctIds = new LinkedHashSet<>();
+        ids.forEach(id -> {
+            if (Objects.nonNull(id)) {
+                distinctIds.add(id);
+            }
+        });
+
+        List<List<ID>> chunks = new ArrayList<>();
+
+        for (List<ID> chunk : Iterables.partition(distinctIds, MAX_CHUNK_SIZE)) {
+            chunks.add(padded(chunk));
+        }
+
+        return chunks;
+    }
+
+    static int bucketSize(int size) {
+        for (int bucketSize : BUCKET_SIZES) {
+            if (size <= bucketSize) {
+                return bucketSize;
+            }
+        }
+
+        throw new IllegalArgumentException("Chunk size should not be greater than " + MAX_CHUNK_SIZE);
+    }
+
+    private static <ID> List<ID> padded(List<ID> chunk) {
+        int bucketSize = bucketSize(chunk.size());
+        List<ID> paddedChunk = new ArrayList<>(bucketSize);
+        paddedChunk.addAll(chunk);
+
+        ID lastId = chunk.get(chunk.size() - 1);
+
+        while (paddedChunk.size() < bucketSize) {
+            paddedChunk.add(lastId);
+        }
+
+        return paddedChunk;
+    }
+}
@@ -0,0 +1,43 @@
+package com.blebail.components.persistence.resource.repository;
+
+import com.blebail.components.persistence.resource.page.Cursor;
+import com.blebail.components.persistence.resource.page.Keyset;
+import com.querydsl.core.types.Predicate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads rows progressively, by seeking past a keyset cursor or through a forward-only cursor.
+ * @param <R> row type
+ * @see SpringBaseRepository
+ */
+public interface ScrollableRepository<R> {
+
+    /**
+     * Finds the rows following a cursor according to a keyset.
+     * @param predicate the predicate, can be null
+     * @param keyset the keyset ordering the rows
+     * @param after the cursor to start after, null for the first rows
+     * @param limit the maximum number of rows
+     * @return the rows following the cursor, in the keyset order
+     */
+    <S extends Comparable<?>, K extends Comparable<?>> List<R> findAfter(Predicate predicate, Keyset<?, S, K> keyset, Cursor<S, K> after, long limit);
+
+    /**
+     * Streams the rows matching a predicate, rows are fetched by batches of fetch size.
+     * @param predicate the predicate, can be null
+     * @param fetchSize the number of rows fetched per round trip
+     * @return the rows matching the predicate, the stream must be closed
+     */
+    Stream<R> stream(Predicate predicate, int fetchSize);
+
+    /**
+     * Consumes the rows matching a predicate one at a time.
+     * @param predicate the predicate, can be null
+     * @param fetchSize the number of rows fetched per round trip
+     * @param consumer the row consumer
+     */
+    void forEach(Predicate predicate, int fetchSize, Consumer<R> consumer);
+}
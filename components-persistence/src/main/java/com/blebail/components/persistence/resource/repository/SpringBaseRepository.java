@@ -1,26 +1,47 @@
 package com.blebail.components.persistence.resource.repository;
 
+import com.blebail.components.persistence.resource.page.Cursor;
+import com.blebail.components.persistence.resource.page.Keyset;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Sort;
 import com.blebail.querydsl.crud.commons.resource.QDSLResource;
 import com.blebail.querydsl.crud.sync.repository.BaseRepository;
 import com.blebail.querydsl.crud.sync.repository.QDSLBaseRepository;
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.sql.RelationalPathBase;
+import com.querydsl.sql.SQLQuery;
 import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.StatementOptions;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class SpringBaseRepository<T extends RelationalPathBase<R>, R> implements BaseRepository<R> {
+public class SpringBaseRepository<T extends RelationalPathBase<R>, R> implements BaseRepository<R>, ScrollableRepository<R> {
 
     private final BaseRepository<R> repository;
 
+    protected final T table;
+
     protected final SQLQueryFactory queryFactory;
 
     public SpringBaseRepository(QDSLResource<T, R> qdslResource, SQLQueryFactory queryFactory) {
         repository = new QDSLBaseRepository<>(qdslResource, queryFactory);
+        this.table = qdslResource.table();
         this.queryFactory = queryFactory;
     }
 
@@ -48,6 +69,77 @@ public class SpringBaseRepository<T extends RelationalPathBase<R>, R> implements
         return repository.find(predicate, pageRequest);
     }
 
+    /**
+     * Finds the rows following a cursor according to a keyset, by seeking past the cursor instead of skipping rows.
+     * @param predicate the predicate, can be null
+     * @param keyset the keyset ordering the rows
+     * @param after the cursor to start after, null for the first rows
+     * @param limit the maximum number of rows
+     * @return the rows following the cursor, in the keyset order
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public <S extends Comparable<?>, K extends Comparable<?>> List<R> findAfter(
+            Predicate predicate,
+            Keyset<?, S, K> keyset,
+            Cursor<S, K> after,
+            long limit) {
+        SQLQuery<R> query = queryFactory.selectFrom(table);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        if (after != null) {
+            query.where(after(keyset, after));
+        }
+
+        return query
+                .orderBy(order(keyset.sortPath, keyset.direction), order(keyset.idPath, keyset.direction))
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * Streams the rows matching a predicate through a forward-only cursor, rows are fetched by batches of fetch size.
+     * The stream holds the connection of the current transaction, it must be consumed and closed within it.
+     * @param predicate the predicate, can be null
+     * @param fetchSize the number of rows fetched per round trip
+     * @return the rows matching the predicate
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    @Override
+    public Stream<R> stream(Predicate predicate, int fetchSize) {
+        SQLQuery<R> query = queryFactory.selectFrom(table);
+
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.setStatementOptions(StatementOptions.builder()
+                .setFetchSize(fetchSize)
+                .build());
+
+        CloseableIterator<R> rows = query.iterate();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(rows::close);
+    }
+
+    /**
+     * Consumes the rows matching a predicate one at a time, within a read-only transaction.
+     * @param predicate the predicate, can be null
+     * @param fetchSize the number of rows fetched per round trip
+     * @param consumer the row consumer
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void forEach(Predicate predicate, int fetchSize, Consumer<R> consumer) {
+        try (Stream<R> rows = stream(predicate, fetchSize)) {
+            rows.forEach(consumer);
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Collection<R> findAll() {
@@ -77,4 +169,18 @@ public class SpringBaseRepository<T extends RelationalPathBase<R>, R> implements
     public boolean deleteAll() {
         return repository.deleteAll();
     }
+
+    private <S extends Comparable<?>, K extends Comparable<?>> Predicate after(Keyset<?, S, K> keyset, Cursor<S, K> cursor) {
+        Ops comparison = keyset.direction == Sort.Direction.ASC ? Ops.GT : Ops.LT;
+
+        BooleanExpression sortValueAfter = Expressions.booleanOperation(comparison, keyset.sortPath, Expressions.constant(cursor.sortValue));
+        BooleanExpression sameSortValue = Expressions.booleanOperation(Ops.EQ, keyset.sortPath, Expressions.constant(cursor.sortValue));
+        BooleanExpression idAfter = Expressions.booleanOperation(comparison, keyset.idPath, Expressions.constant(cursor.id));
+
+        return sortValueAfter.or(sameSortValue.and(idAfter));
+    }
+
+    private OrderSpecifier<?> order(ComparableExpressionBase<?> path, Sort.Direction direction) {
+        return direction == Sort.Direction.ASC ? path.asc() : path.desc();
+    }
 }
@@ -3,20 +3,33 @@ package com.blebail.components.persistence.resource.repository;
 import com.blebail.querydsl.crud.commons.resource.IdentifiableQDSLResource;
 import com.blebail.querydsl.crud.sync.repository.CrudRepository;
 import com.blebail.querydsl.crud.sync.repository.QDSLCrudRepository;
+import com.google.common.collect.Iterables;
+import com.querydsl.core.types.dsl.SimpleExpression;
 import com.querydsl.sql.RelationalPathBase;
 import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.dml.DefaultMapper;
+import com.querydsl.sql.dml.SQLInsertClause;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
-public class SpringCrudRepository<T extends RelationalPathBase<R>, R, ID> extends SpringBaseRepository<T, R> implements CrudRepository<R, ID> {
+public class SpringCrudRepository<T extends RelationalPathBase<R>, R, ID> extends SpringBaseRepository<T, R> implements CrudRepository<R, ID>, BatchingRepository<R> {
 
     private final CrudRepository<R, ID> repository;
 
+    private final SimpleExpression<ID> idPath;
+
+    private final Function<R, ID> idMapping;
+
     public SpringCrudRepository(IdentifiableQDSLResource<T, R, ID> qdslResource, SQLQueryFactory queryFactory) {
         super(qdslResource, queryFactory);
         this.repository = new QDSLCrudRepository<>(qdslResource, queryFactory);
+        this.idPath = qdslResource.idPath();
+        this.idMapping = qdslResource.idMapping();
     }
 
     @Transactional
@@ -31,16 +44,74 @@ public class SpringCrudRepository<T extends RelationalPathBase<R>, R, ID> extend
         return repository.save(resources);
     }
 
+    /**
+     * Inserts rows with JDBC batches, one round trip per batch of batch size rows.
+     * Null values are skipped so that columns keep their defaults, as with save,
+     * rows of a batch with different null columns are then sent as one statement each.
+     * Drivers may not report the row count of a batch, a batch either inserts all its rows or throws,
+     * so the count is the number of rows given.
+     * @param resources the rows to insert
+     * @param batchSize the maximum number of rows per batch
+     * @return the number of inserted rows
+     */
+    @Transactional
+    @Override
+    public long insert(Collection<R> resources, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be greater than 0");
+        }
+
+        long insertedCount = 0;
+
+        for (List<R> batch : Iterables.partition(resources, batchSize)) {
+            SQLInsertClause insert = queryFactory.insert(table);
+            batch.forEach(resource -> insert.populate(resource, DefaultMapper.DEFAULT).addBatch());
+
+            insert.execute();
+            insertedCount += batch.size();
+        }
+
+        return insertedCount;
+    }
+
+    /**
+     * Updates an existing row with a single statement, without checking its existence beforehand.
+     * @param resource the row to update
+     * @return true if the row existed and has been updated, false otherwise
+     */
+    @Transactional
+    @Override
+    public boolean update(R resource) {
+        ID resourceId = idMapping.apply(resource);
+
+        return queryFactory.update(table)
+                .populate(resource, DefaultMapper.WITH_NULL_BINDINGS)
+                .where(idPath.eq(resourceId))
+                .execute() > 0;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Optional<R> findOne(ID resourceId) {
         return repository.findOne(resourceId);
     }
 
+    /**
+     * Finds rows by ids, large id collections are queried chunk by chunk within the same transaction.
+     * @see InListChunks
+     */
     @Transactional(readOnly = true)
     @Override
     public Collection<R> find(Iterable<ID> resourceIds) {
-        return repository.find(resourceIds);
+        List<R> resources = new ArrayList<>();
+
+        for (List<ID> chunk : InListChunks.of(resourceIds)) {
+            resources.addAll(queryFactory.selectFrom(table)
+                    .where(idPath.in(chunk))
+                    .fetch());
+        }
+
+        return resources;
     }
 
     @Transactional(readOnly = true)
@@ -55,9 +126,21 @@ public class SpringCrudRepository<T extends RelationalPathBase<R>, R, ID> extend
         return repository.delete(resourceId);
     }
 
+    /**
+     * Deletes rows by ids, large id collections are deleted chunk by chunk within the same transaction.
+     * @see InListChunks
+     */
     @Transactional
     @Override
     public boolean delete(Iterable<ID> resourceIds) {
-        return repository.delete(resourceIds);
+        long deletedCount = 0;
+
+        for (List<ID> chunk : InListChunks.of(resourceIds)) {
+            deletedCount += queryFactory.delete(table)
+                    .where(idPath.in(chunk))
+                    .execute();
+        }
+
+        return deletedCount > 0;
     }
 }
@@ -2,27 +2,74 @@ package com.blebail.components.persistence.resource.service;
 
 import com.blebail.components.core.resource.Conversion;
 import com.blebail.components.persistence.resource.Persistable;
+import com.blebail.components.persistence.resource.cache.CacheStrategy;
+import com.blebail.components.persistence.resource.cache.ResourcePageCacheKey;
+import com.blebail.components.persistence.resource.page.Cursor;
+import com.blebail.components.persistence.resource.page.Keyset;
+import com.blebail.components.persistence.resource.page.KeysetPage;
+import com.blebail.components.persistence.resource.predicate.PersistentResourcePredicate;
+import com.blebail.components.persistence.resource.repository.ScrollableRepository;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
-import com.blebail.querydsl.crud.sync.repository.CrudRepository;
+import com.blebail.querydsl.crud.sync.repository.BaseRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.core.types.ExpressionUtils;
 import com.querydsl.core.types.Predicate;
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * {@inheritDoc}
+ * Pages found by page request and resource predicates can be cached by providing a cache strategy,
+ * cached pages are invalidated whenever the service writes resources.
+ * The repository doesn't invalidate them: subclasses writing through the repository directly, rather than through
+ * the service methods, have to call {@link #invalidatePages()} after each write.
+ * Resources are streamed and found by keyset when the repository is a {@link ScrollableRepository},
+ * such as {@link com.blebail.components.persistence.resource.repository.SpringBaseRepository},
+ * other repositories stream the resources they find at once and don't support keyset pages.
  */
-public abstract class BaseService<T extends Persistable<ID>, R, ID, P extends CrudRepository<R, ID>> implements PagingService<T, ID> {
+public abstract class BaseService<T extends Persistable<ID>, R, ID, P extends BaseRepository<R>> implements PagingService<T, ID> {
+
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
 
     protected final P repository;
 
     protected final Conversion<T, R> conversion;
 
+    private final Cache<ResourcePageCacheKey, Pair<Long, Page<T>>> pageCache;
+
+    private final AtomicLong pageCacheGeneration;
+
     public BaseService(P repository, Conversion<T, R> conversion) {
         this.repository = Objects.requireNonNull(repository);
         this.conversion = Objects.requireNonNull(conversion);
+        this.pageCache = null;
+        this.pageCacheGeneration = new AtomicLong();
+    }
+
+    public BaseService(P repository, Conversion<T, R> conversion, CacheStrategy pageCacheStrategy) {
+        this.repository = Objects.requireNonNull(repository);
+        this.conversion = Objects.requireNonNull(conversion);
+        this.pageCache = Caffeine.newBuilder()
+                .expireAfterWrite(pageCacheStrategy.duration(), pageCacheStrategy.timeUnit())
+                .maximumSize(pageCacheStrategy.maxSize())
+                .build();
+        this.pageCacheGeneration = new AtomicLong();
     }
 
     /**
@@ -51,14 +98,42 @@ public abstract class BaseService<T extends Persistable<ID>, R, ID, P extends Cr
         return conversion.from(repository.find(predicate));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<T> stream(Predicate predicate) {
+        if (!(repository instanceof ScrollableRepository)) {
+            return find(predicate).stream();
+        }
+
+        return scrollableRepository().stream(predicate, fetchSize())
+                .map(conversion::from);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(Predicate predicate, Consumer<T> consumer) {
+        if (!(repository instanceof ScrollableRepository)) {
+            find(predicate).forEach(consumer);
+            return;
+        }
+
+        scrollableRepository().forEach(predicate, fetchSize(), row -> consumer.accept(conversion.from(row)));
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Page<T> find(PageRequest pageRequest) {
-        Page<R> rowPage = repository.find(pageRequest);
+        return cachedPage(new ResourcePageCacheKey(pageRequest, Set.of()), () -> {
+            Page<R> rowPage = repository.find(pageRequest);
 
-        return new Page<>(conversion.from(rowPage.items()), rowPage.totalItems(), rowPage.totalPages());
+            return new Page<>(conversion.from(rowPage.items()), rowPage.totalItems(), rowPage.totalPages());
+        });
     }
 
     /**
@@ -71,11 +146,132 @@ public abstract class BaseService<T extends Persistable<ID>, R, ID, P extends Cr
         return new Page<>(conversion.from(rowPage.items()), rowPage.totalItems(), rowPage.totalPages());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<T> find(Set<PersistentResourcePredicate> predicates, PageRequest pageRequest) {
+        Predicate predicate = ExpressionUtils.allOf(predicates.stream()
+                .map(PersistentResourcePredicate::compute)
+                .collect(toList()));
+
+        if (predicate == null) {
+            return find(pageRequest);
+        }
+
+        return cachedPage(new ResourcePageCacheKey(pageRequest, predicates), () -> {
+            Page<R> rowPage = repository.find(predicate, pageRequest);
+
+            return new Page<>(conversion.from(rowPage.items()), rowPage.totalItems(), rowPage.totalPages());
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <S extends Comparable<?>, K extends Comparable<?>> KeysetPage<T> find(
+            Predicate predicate,
+            Keyset<T, S, K> keyset,
+            String cursor,
+            int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size should be greater than 0");
+        }
+
+        if (!(repository instanceof ScrollableRepository)) {
+            throw new IllegalStateException("Keyset pages need a repository implementing ScrollableRepository");
+        }
+
+        Cursor<S, K> after = cursor == null || cursor.isBlank() ? null : keyset.parse(cursor);
+
+        List<T> resources = scrollableRepository().findAfter(predicate, keyset, after, size + 1L)
+                .stream()
+                .map(conversion::from)
+                .collect(toList());
+
+        if (resources.size() <= size) {
+            return new KeysetPage<>(resources, null);
+        }
+
+        List<T> pageResources = resources.subList(0, size);
+
+        return new KeysetPage<>(pageResources, keyset.cursorAfter(pageResources.get(size - 1)).token());
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean delete(Predicate predicate) {
-        return repository.delete(predicate);
+        boolean deleted = repository.delete(predicate);
+
+        invalidatePages();
+
+        return deleted;
+    }
+
+    /**
+     * Returns the number of rows fetched per round trip when streaming resources,
+     * can be overridden to match the JDBC driver, e.g. MySQL only streams with Integer.MIN_VALUE.
+     * @return the fetch size
+     */
+    protected int fetchSize() {
+        return DEFAULT_FETCH_SIZE;
+    }
+
+    /**
+     * Invalidates the cached pages, should be called whenever resources are written.
+     * Within a transaction, pages are invalidated again once it commits,
+     * so that a page read concurrently before the commit is never served after it.
+     */
+    protected void invalidatePages() {
+        if (pageCache == null) {
+            return;
+        }
+
+        bumpPageCacheGeneration();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    bumpPageCacheGeneration();
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ScrollableRepository<R> scrollableRepository() {
+        return (ScrollableRepository<R>) repository;
+    }
+
+    private void bumpPageCacheGeneration() {
+        pageCacheGeneration.incrementAndGet();
+        pageCache.invalidateAll();
+    }
+
+    /**
+     * Returns the cached page if it was cached since the last invalidation, finds and caches it otherwise.
+     * Pages are cached along with the invalidation generation they were found in,
+     * so that a page found concurrently with a write is never served after the write.
+     */
+    private Page<T> cachedPage(ResourcePageCacheKey key, Supplier<Page<T>> pageFinder) {
+        if (pageCache == null) {
+            return pageFinder.get();
+        }
+
+        long generation = pageCacheGeneration.get();
+        Pair<Long, Page<T>> cachedPage = pageCache.getIfPresent(key);
+
+        if (cachedPage != null && cachedPage.getLeft() == generation) {
+            return cachedPage.getRight();
+        }
+
+        Page<T> page = pageFinder.get();
+        pageCache.put(key, new ImmutablePair<>(generation, page));
+
+        return page;
     }
 }
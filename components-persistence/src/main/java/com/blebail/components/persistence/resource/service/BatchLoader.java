@@ -0,0 +1,199 @@
+package com.blebail.components.persistence.resource.service;
+
+import com.blebail.components.persistence.resource.Persistable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Coalesces concurrent loads of resources by id into a single find by ids.
+ * Ids requested within a time window, or until the batch size is reached, are loaded together,
+ * each caller then gets its own resource or a NoSuchElementException if it doesn't exist.
+ * Batches are run on the given executor, outside of the callers transactions,
+ * a dedicated thread only times the windows.
+ * Meant for request handlers loading resources one id at a time concurrently, such as a resolver per field of a graph,
+ * single callers that already know their ids should find them at once instead.
+ * @param <T> resource type
+ * @param <ID> resource ID type
+ */
+public class BatchLoader<T extends Persistable<ID>, ID> implements AutoCloseable {
+
+    private static final String MESSAGE_RESOURCE_NOT_FOUND = "Resource was not found";
+
+    private static final String MESSAGE_LOADER_CLOSED = "Batch loader is closed";
+
+    private final CrudService<T, ID> service;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Executor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+
+    private Map<ID, CompletableFuture<T>> pending = new HashMap<>();
+
+    private boolean closed;
+
+    public BatchLoader(CrudService<T, ID> service, Duration window, int maxBatchSize, Executor executor) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window should not be negative");
+        }
+
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size should be greater than 0");
+        }
+
+        this.service = Objects.requireNonNull(service);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.executor = Objects.requireNonNull(executor);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "batch-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads a resource, the resource is fetched with the other ids requested in the same batch.
+     * @param resourceId resource id
+     * @return a future completed with the resource, or exceptionally if it doesn't exist, the batch failed
+     * or the loader is closed
+     */
+    public CompletableFuture<T> load(ID resourceId) {
+        if (resourceId == null) {
+            throw new IllegalArgumentException(MESSAGE_RESOURCE_NOT_FOUND);
+        }
+
+        CompletableFuture<T> resource;
+        Map<ID, CompletableFuture<T>> fullBatch = null;
+
+        synchronized (lock) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException(MESSAGE_LOADER_CLOSED));
+            }
+
+            resource = pending.get(resourceId);
+
+            if (resource != null) {
+                return resource;
+            }
+
+            resource = new CompletableFuture<>();
+            pending.put(resourceId, resource);
+
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = pending;
+                pending = new HashMap<>();
+            } else if (pending.size() == 1) {
+                Map<ID, CompletableFuture<T>> batch = pending;
+                scheduler.schedule(() -> dispatchIfPending(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            execute(fullBatch);
+        }
+
+        return resource;
+    }
+
+    /**
+     * Loads a resource and waits for it.
+     * @param resourceId resource id
+     * @return the resource
+     * @throws NoSuchElementException if the resource doesn't exist
+     */
+    public T findOne(ID resourceId) {
+        try {
+            return load(resourceId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Stops the loader, pending loads are still dispatched and later loads fail.
+     */
+    @Override
+    public void close() {
+        Map<ID, CompletableFuture<T>> batch;
+
+        synchronized (lock) {
+            closed = true;
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        scheduler.shutdownNow();
+        execute(batch);
+    }
+
+    private void dispatchIfPending(Map<ID, CompletableFuture<T>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+
+            pending = new HashMap<>();
+        }
+
+        execute(batch);
+    }
+
+    private void execute(Map<ID, CompletableFuture<T>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(resource -> resource.completeExceptionally(e));
+        }
+    }
+
+    private void dispatch(Map<ID, CompletableFuture<T>> batch) {
+        Map<ID, T> resources;
+
+        try {
+            Collection<T> foundResources = service.find(batch.keySet());
+            resources = foundResources.stream().collect(toMap(Persistable::id, Function.identity()));
+        } catch (Throwable t) {
+            batch.values().forEach(resource -> resource.completeExceptionally(t));
+            return;
+        }
+
+        batch.forEach((resourceId, resource) -> {
+            T foundResource = resources.get(resourceId);
+
+            if (foundResource != null) {
+                resource.complete(foundResource);
+            } else {
+                resource.completeExceptionally(new NoSuchElementException(MESSAGE_RESOURCE_NOT_FOUND));
+            }
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.blebail.components.persistence.resource.service;
+
+import com.blebail.components.core.resource.Conversion;
+import com.blebail.components.persistence.resource.Persistable;
+import com.blebail.components.persistence.resource.cache.CacheStrategy;
+import com.blebail.querydsl.crud.sync.repository.CrudRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import com.querydsl.core.types.Predicate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * {@inheritDoc}
+ * Caches resources by id in memory, resources are loaded when they are read and cached when they are written.
+ * The cache is bounded in size and in time according to a cache strategy,
+ * which makes it usable for tables that are too large to be loaded in full.
+ */
+public abstract class BoundedCachedService<T extends Persistable<ID>, R, ID, P extends CrudRepository<R, ID>>
+        extends ResourceService<T, R, ID, P> implements CachedService {
+
+    private final Cache<ID, T> cache;
+
+    public BoundedCachedService(P repository, Conversion<T, R> conversion, CacheStrategy cacheStrategy) {
+        super(repository, conversion);
+        Objects.requireNonNull(cacheStrategy);
+
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheStrategy.duration(), cacheStrategy.timeUnit())
+                .maximumSize(cacheStrategy.maxSize())
+                .build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T create(T resource) {
+        T createdResource = super.create(resource);
+
+        cache.put(createdResource.id(), createdResource);
+
+        return createdResource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<T> create(Collection<T> resources) {
+        Collection<T> createdResources = super.create(resources);
+
+        cache.putAll(byId(createdResources));
+
+        return createdResources;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean exists(ID resourceId) {
+        if (resourceId == null) {
+            return false;
+        }
+
+        return cache.getIfPresent(resourceId) != null || super.exists(resourceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T findOne(ID resourceId) {
+        if (resourceId == null) {
+            throw new IllegalArgumentException();
+        }
+
+        return cache.get(resourceId, super::findOne);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<T> find(Collection<ID> resourcesIds) {
+        Collection<ID> nonNullResourceIds = resourcesIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<ID, T> resources = cache.getAll(nonNullResourceIds, missingResourceIds ->
+                byId(super.find(ImmutableSet.<ID>copyOf(missingResourceIds))));
+
+        return new TreeSet<>(resources.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T update(T resource) {
+        T updatedResource = super.update(resource);
+
+        cache.put(updatedResource.id(), updatedResource);
+
+        return updatedResource;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<T> update(Collection<T> resources) {
+        Collection<T> updatedResources = super.update(resources);
+
+        cache.putAll(byId(updatedResources));
+
+        return updatedResources;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(ID id) {
+        boolean deleted = super.delete(id);
+
+        if (id != null) {
+            cache.invalidate(id);
+        }
+
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean delete(Collection<ID> resourceIds) {
+        boolean deleted = super.delete(resourceIds);
+
+        if (resourceIds != null) {
+            cache.invalidateAll(resourceIds);
+        }
+
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The deleted resources are not known by id, so the whole cache is invalidated.
+     */
+    @Override
+    public boolean delete(Predicate predicate) {
+        boolean deleted = super.delete(predicate);
+
+        cache.invalidateAll();
+
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean deleteAll() {
+        boolean deleted = super.deleteAll();
+
+        cache.invalidateAll();
+
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    private Map<ID, T> byId(Collection<T> resources) {
+        return resources.stream()
+                .collect(toMap(Persistable::id, Function.identity()));
+    }
+}
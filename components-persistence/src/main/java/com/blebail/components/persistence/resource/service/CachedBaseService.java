@@ -3,13 +3,17 @@ package com.blebail.components.persistence.resource.service;
 import com.blebail.components.core.resource.Conversion;
 import com.blebail.components.persistence.resource.Persistable;
 import com.blebail.querydsl.crud.sync.repository.CrudRepository;
+import com.querydsl.core.types.Predicate;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -18,15 +22,21 @@ import static java.util.stream.Collectors.toMap;
 /**
  * {@inheritDoc}
  * Caches resources in memory.
+ * The cache is an immutable snapshot of the whole table, loaded by a single thread at a time
+ * and published atomically, readers never see a partially loaded cache.
+ * Every write publishes a new snapshot, so that a load concurrent with a write never overwrites it.
  */
 public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P extends CrudRepository<R, ID>>
         extends ResourceService<T, R, ID, P> implements CachedService {
 
-    protected final Map<ID, T> cache;
+    private final AtomicReference<Snapshot<ID, T>> snapshot;
+
+    private final Object loadLock;
 
     public CachedBaseService(P repository, Conversion<T, R> conversion) {
         super(repository, conversion);
-        cache = new ConcurrentHashMap<>();
+        snapshot = new AtomicReference<>(new Snapshot<>(null));
+        loadLock = new Object();
     }
 
     /**
@@ -36,7 +46,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
     public T create(T resource) {
         T createdResource = super.create(resource);
 
-        cache.put(createdResource.id(), createdResource);
+        put(List.of(createdResource));
 
         return createdResource;
     }
@@ -50,11 +60,23 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
                 .stream()
                 .collect(toMap(Persistable::id, Function.identity()));
 
-        cache.putAll(createdResources);
+        put(createdResources.values());
 
         return createdResources.values();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long createAndCount(Collection<T> resources) {
+        long createdCount = super.createAndCount(resources);
+
+        put(resources);
+
+        return createdCount;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -64,9 +86,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
             return false;
         }
 
-        loadCacheIfNecessary();
-
-        return cache.containsKey(resourceId);
+        return cache().containsKey(resourceId);
     }
 
     /**
@@ -74,9 +94,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
      */
     @Override
     public long count() {
-        loadCacheIfNecessary();
-
-        return cache.size();
+        return cache().size();
     }
 
     /**
@@ -88,9 +106,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
             throw new IllegalArgumentException();
         }
 
-        loadCacheIfNecessary();
-
-        return Optional.ofNullable(cache.get(resourceId))
+        return Optional.ofNullable(cache().get(resourceId))
                 .orElseThrow(NoSuchElementException::new);
     }
 
@@ -99,9 +115,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
      */
     @Override
     public Collection<T> findAll() {
-        loadCacheIfNecessary();
-
-        return new TreeSet<>(cache.values());
+        return new TreeSet<>(cache().values());
     }
 
     /**
@@ -109,10 +123,12 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
      */
     @Override
     public Collection<T> find(Collection<ID> resourcesIds) {
-        loadCacheIfNecessary();
+        Map<ID, T> cache = cache();
 
-        return cache.values().stream()
-                .filter(resource -> resourcesIds.contains(resource.id()))
+        return resourcesIds.stream()
+                .filter(Objects::nonNull)
+                .map(cache::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toCollection(TreeSet::new));
     }
 
@@ -123,7 +139,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
     public T update(T resource) {
         T updatedResource = super.update(resource);
 
-        cache.put(resource.id(), resource);
+        put(List.of(updatedResource));
 
         return updatedResource;
     }
@@ -135,7 +151,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
     public Collection<T> update(Collection<T> resources) {
         Collection<T> updatedResources = super.update(resources);
 
-        updatedResources.forEach(updatedResource -> cache.put(updatedResource.id(), updatedResource));
+        put(updatedResources);
 
         return updatedResources;
     }
@@ -148,7 +164,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
         boolean deleted = super.delete(id);
 
         if (deleted) {
-            cache.remove(id);
+            remove(List.of(id));
         }
 
         return deleted;
@@ -162,7 +178,7 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
         boolean deleted = super.delete(resourceIds);
 
         if (deleted) {
-            resourceIds.forEach(cache::remove);
+            remove(resourceIds);
         }
 
         return deleted;
@@ -176,12 +192,25 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
         boolean deleted = super.delete(resource);
 
         if (deleted) {
-            cache.remove(resource.id());
+            remove(List.of(resource.id()));
         }
 
         return deleted;
     }
 
+    /**
+     * {@inheritDoc}
+     * The deleted resources are not known by id, so the cache is loaded again on the next read.
+     */
+    @Override
+    public boolean delete(Predicate predicate) {
+        boolean deleted = super.delete(predicate);
+
+        snapshot.set(new Snapshot<>(null));
+
+        return deleted;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -189,24 +218,91 @@ public abstract class CachedBaseService<T extends Persistable<ID>, R, ID, P exte
     public boolean deleteAll() {
         boolean deleted = super.deleteAll();
 
-        cache.clear();
+        snapshot.set(new Snapshot<>(Map.of()));
 
         return deleted;
     }
 
     /**
      * {@inheritDoc}
+     * The current snapshot keeps being served while the new one is loaded.
      */
     @Override
     public void invalidate() {
-        cache.clear();
-        
-        super.findAll().forEach(resource -> cache.put(resource.id(), resource));
+        synchronized (loadLock) {
+            load();
+        }
+    }
+
+    /**
+     * Returns the cached resources by id, loading them if they are not loaded yet.
+     * @return an immutable snapshot of the cached resources, which doesn't support null keys
+     */
+    protected Map<ID, T> cache() {
+        Map<ID, T> cache = snapshot.get().resources;
+
+        if (cache != null) {
+            return cache;
+        }
+
+        synchronized (loadLock) {
+            cache = snapshot.get().resources;
+
+            return cache != null ? cache : load();
+        }
+    }
+
+    /**
+     * Loads the whole table into a new snapshot, the snapshot is only published if no write happened during the load,
+     * otherwise it is only returned to the caller and the snapshot published by the write is kept.
+     */
+    private Map<ID, T> load() {
+        Snapshot<ID, T> snapshotBeforeLoad = snapshot.get();
+
+        Map<ID, T> loadedCache = Map.copyOf(super.findAll()
+                .stream()
+                .collect(toMap(Persistable::id, Function.identity())));
+
+        snapshot.compareAndSet(snapshotBeforeLoad, new Snapshot<>(loadedCache));
+
+        return loadedCache;
     }
 
-    private void loadCacheIfNecessary() {
-        if (cache.isEmpty()) {
-            invalidate();
+    private void put(Collection<T> resources) {
+        snapshot.updateAndGet(current -> {
+            if (current.resources == null) {
+                return new Snapshot<>(null);
+            }
+
+            Map<ID, T> updatedCache = new HashMap<>(current.resources);
+            resources.forEach(resource -> updatedCache.put(resource.id(), resource));
+
+            return new Snapshot<>(Map.copyOf(updatedCache));
+        });
+    }
+
+    private void remove(Collection<ID> resourceIds) {
+        snapshot.updateAndGet(current -> {
+            if (current.resources == null) {
+                return new Snapshot<>(null);
+            }
+
+            Map<ID, T> updatedCache = new HashMap<>(current.resources);
+            resourceIds.forEach(updatedCache::remove);
+
+            return new Snapshot<>(Map.copyOf(updatedCache));
+        });
+    }
+
+    /**
+     * Resources cached at some point, null when they are not loaded.
+     */
+    private static final class Snapshot<ID, T> {
+
+        private final Map<ID, T> resources;
+
+        private Snapshot(Map<ID, T> resources) {
+            this.resources = resources;
         }
     }
 }
@@ -19,12 +19,19 @@ public interface CrudService<T extends Persistable<ID>, ID> extends PagingServic
     T create(T resource);
 
     /**
-     * Creates multiple resources.
+     * Creates multiple resources, resources are inserted by batches.
      * @param resources resources to create
      * @return created resources
      */
     Collection<T> create(Collection<T> resources);
 
+    /**
+     * Creates multiple resources, resources are inserted by batches and are not returned.
+     * @param resources resources to create
+     * @return number of created resources
+     */
+    long createAndCount(Collection<T> resources);
+
     /**
      * Updates a resource.
      * @param resource resource to update
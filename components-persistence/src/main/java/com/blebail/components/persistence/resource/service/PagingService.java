@@ -1,12 +1,18 @@
 package com.blebail.components.persistence.resource.service;
 
 import com.blebail.components.persistence.resource.Persistable;
+import com.blebail.components.persistence.resource.page.Keyset;
+import com.blebail.components.persistence.resource.page.KeysetPage;
+import com.blebail.components.persistence.resource.predicate.PersistentResourcePredicate;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
 import com.querydsl.core.types.Predicate;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Provides pagination for a resource.
@@ -29,6 +35,22 @@ public interface PagingService<T extends Persistable<ID>, ID> {
      */
     Collection<T> find(Predicate predicate);
 
+    /**
+     * Streams resources according to a predicate, resources are read through a database cursor and converted lazily.
+     * The stream must be consumed and closed within the transaction of the caller.
+     * @param predicate the predicate, can be null
+     * @return the resources matching the predicate
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no current transaction
+     */
+    Stream<T> stream(Predicate predicate);
+
+    /**
+     * Consumes resources according to a predicate one at a time, without loading them all in memory.
+     * @param predicate the predicate, can be null
+     * @param consumer the resource consumer
+     */
+    void forEach(Predicate predicate, Consumer<T> consumer);
+
     /**
      * Finds a page of resources.
      * @param pageRequest the resource page request
@@ -44,6 +66,27 @@ public interface PagingService<T extends Persistable<ID>, ID> {
      */
     Page<T> find(Predicate predicate, PageRequest pageRequest);
 
+    /**
+     * Finds a resource page according to resource predicates, the page may be served from a cache.
+     * @param predicates the resource predicates, combined with a logical and
+     * @param pageRequest the resource page request
+     * @return the resource page matching the predicates
+     */
+    Page<T> find(Set<PersistentResourcePredicate> predicates, PageRequest pageRequest);
+
+    /**
+     * Finds a resource page according to a predicate by keyset pagination :
+     * the page starts right after the cursor instead of skipping the previous pages,
+     * so finding a page takes the same time however deep it is.
+     * @param predicate the predicate, can be null
+     * @param keyset the keyset ordering the resources
+     * @param cursor the cursor returned with the previous page, null or blank for the first page
+     * @param size the page size
+     * @return the resource page with the cursor of the next page if there is one
+     * @throws IllegalArgumentException if the size is not greater than 0 or if the cursor is not valid
+     */
+    <S extends Comparable<?>, K extends Comparable<?>> KeysetPage<T> find(Predicate predicate, Keyset<T, S, K> keyset, String cursor, int size);
+
     /**
      * Returns the total number of resources according to a predicate
      * @param predicate the predicate
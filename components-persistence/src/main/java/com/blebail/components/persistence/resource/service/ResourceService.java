@@ -2,6 +2,8 @@ package com.blebail.components.persistence.resource.service;
 
 import com.blebail.components.core.resource.Conversion;
 import com.blebail.components.persistence.resource.Persistable;
+import com.blebail.components.persistence.resource.cache.CacheStrategy;
+import com.blebail.components.persistence.resource.repository.BatchingRepository;
 import com.blebail.querydsl.crud.sync.repository.CrudRepository;
 import org.springframework.util.CollectionUtils;
 
@@ -12,16 +14,25 @@ import java.util.TreeSet;
 
 /**
  * {@inheritDoc}
+ * Resources are created by batches and updated without being read beforehand when the repository is a {@link BatchingRepository},
+ * such as {@link com.blebail.components.persistence.resource.repository.SpringCrudRepository},
+ * other repositories save them.
  */
 public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extends CrudRepository<R, ID>>
         extends BaseService<T, R, ID, P> implements CrudService<T, ID> {
 
     private static final String MESSAGE_RESOURCE_NOT_FOUND = "Resource was not found";
 
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     public ResourceService(P repository, Conversion<T, R> conversion) {
         super(repository, conversion);
     }
 
+    public ResourceService(P repository, Conversion<T, R> conversion, CacheStrategy pageCacheStrategy) {
+        super(repository, conversion, pageCacheStrategy);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -32,6 +43,7 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
         }
 
         R createdRow = repository.save(conversion.to(resource));
+        invalidatePages();
 
         return conversion.from(createdRow);
     }
@@ -41,11 +53,32 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
      */
     @Override
     public Collection<T> create(Collection<T> resources) {
-        Collection<R> createdRows = repository.save(conversion.to(resources));
+        Collection<R> createdRows = conversion.to(resources);
+        insertRows(createdRows);
+        invalidatePages();
 
         return conversion.from(createdRows);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long createAndCount(Collection<T> resources) {
+        long createdCount = insertRows(conversion.to(resources));
+        invalidatePages();
+
+        return createdCount;
+    }
+
+    /**
+     * Returns the maximum number of resources inserted per round trip when creating multiple resources.
+     * @return the batch size
+     */
+    protected int batchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,11 +140,15 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
             throw new IllegalArgumentException();
         }
 
-        if (!repository.exists(resource.id())) {
+        R updatedRow = conversion.to(resource);
+
+        if (!updateRow(resource.id(), updatedRow)) {
             throw new NoSuchElementException(MESSAGE_RESOURCE_NOT_FOUND);
         }
 
-        return conversion.from(repository.save(conversion.to(resource)));
+        invalidatePages();
+
+        return conversion.from(updatedRow);
     }
 
     /**
@@ -120,8 +157,10 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
     @Override
     public Collection<T> update(Collection<T> resources) {
         Collection<R> mappedResources = conversion.to(resources);
+        Collection<R> updatedRows = repository.save(mappedResources);
+        invalidatePages();
 
-        return conversion.from(repository.save(mappedResources));
+        return conversion.from(updatedRows);
     }
 
     /**
@@ -133,7 +172,10 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
             return false;
         }
 
-        return repository.delete(id);
+        boolean deleted = repository.delete(id);
+        invalidatePages();
+
+        return deleted;
     }
 
     /**
@@ -145,7 +187,10 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
             return false;
         }
 
-        return repository.delete(resourceIds);
+        boolean deleted = repository.delete(resourceIds);
+        invalidatePages();
+
+        return deleted;
     }
 
     /**
@@ -165,6 +210,36 @@ public abstract class ResourceService<T extends Persistable<ID>, R, ID, P extend
      */
     @Override
     public boolean deleteAll() {
-        return repository.deleteAll();
+        boolean deleted = repository.deleteAll();
+        invalidatePages();
+
+        return deleted;
+    }
+
+    private long insertRows(Collection<R> rows) {
+        if (repository instanceof BatchingRepository) {
+            return batchingRepository().insert(rows, batchSize());
+        }
+
+        return repository.save(rows).size();
+    }
+
+    private boolean updateRow(ID resourceId, R row) {
+        if (repository instanceof BatchingRepository) {
+            return batchingRepository().update(row);
+        }
+
+        if (!repository.exists(resourceId)) {
+            return false;
+        }
+
+        repository.save(row);
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchingRepository<R> batchingRepository() {
+        return (BatchingRepository<R>) repository;
     }
 }
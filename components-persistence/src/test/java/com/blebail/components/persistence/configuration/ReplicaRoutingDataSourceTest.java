@@ -0,0 +1,155 @@
+package com.blebail.components.persistence.configuration;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:primary";
+
+    private static final String REPLICA = "jdbc:h2:mem:replica";
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @AfterEach
+    public void tearDown() {
+        if (routingDataSource != null) {
+            routingDataSource.destroy();
+        }
+    }
+
+    @Test
+    public void shouldThrowException_whenReplicaWeightIsZero() {
+        assertThrows(IllegalArgumentException.class, () -> new Replica(h2(REPLICA), 0));
+    }
+
+    @Test
+    public void shouldReadFromReplica_whenTransactionIsReadOnly() {
+        routingDataSource = routingDataSource(List.of(new Replica(h2(REPLICA), 1)), Duration.ZERO);
+
+        assertThat(urlWithin(readOnlyTransaction())).startsWith(REPLICA);
+    }
+
+    @Test
+    public void shouldWriteToPrimary_whenTransactionIsNotReadOnly() {
+        routingDataSource = routingDataSource(List.of(new Replica(h2(REPLICA), 1)), Duration.ZERO);
+
+        assertThat(urlWithin(transaction())).startsWith(PRIMARY);
+    }
+
+    @Test
+    public void shouldReadFromPrimary_whenThreadHasWrittenWithinTheReadYourWritesWindow() {
+        routingDataSource = routingDataSource(List.of(new Replica(h2(REPLICA), 1)), Duration.ofHours(1));
+
+        urlWithin(transaction());
+
+        assertThat(urlWithin(readOnlyTransaction())).startsWith(PRIMARY);
+    }
+
+    @Test
+    public void shouldReadFromReplica_whenThreadWriteWasRolledBackWithinTheReadYourWritesWindow() {
+        routingDataSource = routingDataSource(List.of(new Replica(h2(REPLICA), 1)), Duration.ofHours(1));
+        TransactionTemplate transaction = transaction();
+
+        transaction.executeWithoutResult(status -> {
+            urlWithin(transaction);
+            status.setRollbackOnly();
+        });
+
+        assertThat(urlWithin(readOnlyTransaction())).startsWith(REPLICA);
+    }
+
+    @Test
+    public void shouldCloseDataSources_whenDestroyed() throws Exception {
+        DataSource primary = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        DataSource replica = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(new Replica(replica, 1)), Duration.ZERO);
+
+        routingDataSource.destroy();
+
+        verify((Closeable) primary).close();
+        verify((Closeable) replica).close();
+    }
+
+    @Test
+    public void shouldReadFromPrimary_whenNoReplicaIsHealthy() throws Exception {
+        DataSource failingReplica = mock(DataSource.class);
+        doThrow(SQLException.class).when(failingReplica).getConnection();
+        routingDataSource = routingDataSource(List.of(new Replica(failingReplica, 1)), Duration.ZERO);
+
+        routingDataSource.checkReplicas();
+
+        assertThat(urlWithin(readOnlyTransaction())).startsWith(PRIMARY);
+    }
+
+    @Test
+    public void shouldOnlyReadFromHealthyReplicas() throws Exception {
+        DataSource failingReplica = mock(DataSource.class);
+        doThrow(SQLException.class).when(failingReplica).getConnection();
+        routingDataSource = routingDataSource(List.of(new Replica(failingReplica, 100), new Replica(h2(REPLICA), 1)), Duration.ZERO);
+
+        routingDataSource.checkReplicas();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(urlWithin(readOnlyTransaction())).startsWith(REPLICA);
+        }
+    }
+
+    private ReplicaRoutingDataSource routingDataSource(List<Replica> replicas, Duration readYourWritesWindow) {
+        return new ReplicaRoutingDataSource(h2(PRIMARY), replicas, readYourWritesWindow);
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routingDataSource)));
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transaction = transaction();
+        transaction.setReadOnly(true);
+
+        return transaction;
+    }
+
+    private String urlWithin(TransactionTemplate transaction) {
+        DataSourceTransactionManager transactionManager = (DataSourceTransactionManager) transaction.getTransactionManager();
+
+        return transaction.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(transactionManager.getDataSource());
+
+            try {
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                fail(e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    private static DataSource h2(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        return dataSource;
+    }
+}
@@ -0,0 +1,76 @@
+package com.blebail.components.persistence.configuration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SlowQueryListenerTest {
+
+    private SlowQueryListener tested = new SlowQueryListener(Duration.ofMillis(100), 1, 2, Set.of("account.password", "token"), "com.blebail");
+
+    @Test
+    public void shouldThrowException_whenSampleRateIsGreaterThanOne() {
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryListener(Duration.ofMillis(100), 2, 2, Set.of(), "com.blebail"));
+    }
+
+    @Test
+    public void shouldMaskSensitiveColumns_whenBindingsAreCompared() {
+        List<Object> bindings = tested.mask(
+                "select account.id from `account` account where account.username = ? and account.`password` = ? limit ?",
+                List.of("john", "secret", 1));
+
+        assertThat(bindings).containsExactly("****", "****", "****");
+    }
+
+    @Test
+    public void shouldMaskSensitiveColumns_whenBindingsAreUpdated() {
+        List<Object> bindings = tested.mask(
+                "update `account` set `username` = ?, `token` = ? where `account`.`id` in (?, ?)",
+                List.of("john", "abc", "1", "2"));
+
+        assertThat(bindings).containsExactly("****", "****", "****", "****");
+    }
+
+    @Test
+    public void shouldMaskSensitiveColumns_whenBindingsAreInserted() {
+        List<Object> bindings = tested.mask(
+                "insert into `account` (`id`, `password`, `username`)\nvalues (?, ?, ?)",
+                List.of("1", "secret", "john"));
+
+        assertThat(bindings).containsExactly("****", "****", "****");
+    }
+
+    @Test
+    public void shouldMaskSensitiveColumns_whenBindingsAreWrappedInFunctions() {
+        List<Object> bindings = tested.mask(
+                "update `account` set `token` = concat(?, ?) where lower(`account`.`username`) = lower(?)",
+                List.of("a", "bc", "john"));
+
+        assertThat(bindings).containsExactly("****", "****", "****");
+    }
+
+    @Test
+    public void shouldNotMaskBindings_whenNoSensitiveColumnIsReferenced() {
+        List<Object> bindings = tested.mask(
+                "select account.id from `account` account where lower(account.username) = lower(?) limit ?",
+                List.of("john", 1));
+
+        assertThat(bindings).containsExactly("john", 1);
+    }
+
+    @Test
+    public void shouldLimitLogsPerSecond() {
+        long now = TimeUnit.SECONDS.toNanos(10);
+
+        assertThat(tested.acquireLog(now)).isTrue();
+        assertThat(tested.acquireLog(now)).isTrue();
+        assertThat(tested.acquireLog(now)).isFalse();
+        assertThat(tested.acquireLog(now + TimeUnit.SECONDS.toNanos(1))).isTrue();
+    }
+}
@@ -7,10 +7,10 @@ import org.springframework.stereotype.Service;
 import javax.inject.Inject;
 
 @Service
-public class UuidBaseService extends BaseService<UuidResource, BUuidResource, String, UuidCrudRepository> {
+public class UuidBaseService extends BaseService<UuidResource, BUuidResource, String, UuidSpringBaseRepository> {
 
     @Inject
-    public UuidBaseService(UuidCrudRepository repository) {
+    public UuidBaseService(UuidSpringBaseRepository repository) {
         super(repository, new UuidResourceConversion());
     }
 }
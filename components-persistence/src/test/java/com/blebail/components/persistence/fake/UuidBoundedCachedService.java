@@ -0,0 +1,16 @@
+package com.blebail.components.persistence.fake;
+
+import com.blebail.components.persistence.resource.service.BoundedCachedService;
+import com.blebail.components.persistence.sql.BUuidResource;
+import org.springframework.stereotype.Service;
+
+import javax.inject.Inject;
+
+@Service
+public class UuidBoundedCachedService extends BoundedCachedService<UuidResource, BUuidResource, String, UuidCrudRepository> {
+
+    @Inject
+    public UuidBoundedCachedService(UuidCrudRepository repository) {
+        super(repository, new UuidResourceConversion(), new UuidResourceCacheStrategy());
+    }
+}
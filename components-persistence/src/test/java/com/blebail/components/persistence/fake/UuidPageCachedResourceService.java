@@ -0,0 +1,16 @@
+package com.blebail.components.persistence.fake;
+
+import com.blebail.components.persistence.resource.service.ResourceService;
+import com.blebail.components.persistence.sql.BUuidResource;
+import org.springframework.stereotype.Service;
+
+import javax.inject.Inject;
+
+@Service
+public class UuidPageCachedResourceService extends ResourceService<UuidResource, BUuidResource, String, UuidCrudRepository> {
+
+    @Inject
+    public UuidPageCachedResourceService(UuidCrudRepository repository) {
+        super(repository, new UuidResourceConversion(), new UuidResourceCacheStrategy());
+    }
+}
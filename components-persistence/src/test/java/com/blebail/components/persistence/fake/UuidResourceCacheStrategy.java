@@ -0,0 +1,23 @@
+package com.blebail.components.persistence.fake;
+
+import com.blebail.components.persistence.resource.cache.CacheStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+public class UuidResourceCacheStrategy implements CacheStrategy {
+
+    @Override
+    public long duration() {
+        return 1;
+    }
+
+    @Override
+    public TimeUnit timeUnit() {
+        return TimeUnit.HOURS;
+    }
+
+    @Override
+    public long maxSize() {
+        return 100;
+    }
+}
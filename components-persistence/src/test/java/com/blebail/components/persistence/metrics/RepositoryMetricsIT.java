@@ -0,0 +1,82 @@
+package com.blebail.components.persistence.metrics;
+
+import com.blebail.components.persistence.fake.UuidCrudRepository;
+import com.blebail.components.persistence.fixtures.JavaFixtures;
+import com.blebail.components.persistence.fixtures.UuidResourceRows;
+import com.blebail.junit.SqlFixture;
+import com.blebail.junit.SqlMemoryDb;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.inject.Inject;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("metrics")
+public class RepositoryMetricsIT {
+
+    @Inject
+    private UuidCrudRepository repository;
+
+    @Inject
+    private MeterRegistry registry;
+
+    @RegisterExtension
+    public static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
+
+    @RegisterExtension
+    public SqlFixture dbFixture = new SqlFixture(sqlMemoryDb::dataSource, JavaFixtures.uuidResources());
+
+    @Test
+    public void shouldRecordCallsAndRows_whenFindingResources() {
+        dbFixture.readOnly();
+
+        repository.find(List.of(UuidResourceRows.uuidResource1().getUuid(), UuidResourceRows.uuidResource2().getUuid()));
+
+        Timer calls = registry.get(RepositoryMetricsInterceptor.CALLS)
+                .tags("repository", "UuidCrudRepository", "method", "find", "outcome", "success")
+                .timer();
+        DistributionSummary rows = registry.get(RepositoryMetricsInterceptor.ROWS)
+                .tags("repository", "UuidCrudRepository", "method", "find")
+                .summary();
+
+        assertThat(calls.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRecordFailedCalls() {
+        dbFixture.readOnly();
+
+        assertThrows(Exception.class, () -> repository.delete((String) null));
+
+        Timer calls = registry.get(RepositoryMetricsInterceptor.CALLS)
+                .tags("repository", "UuidCrudRepository", "method", "delete", "outcome", "error")
+                .timer();
+
+        assertThat(calls.count()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    public static class MeterRegistryConfiguration {
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.blebail.components.persistence.resource.page;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CursorTest {
+
+    @Test
+    public void shouldParseTheCursor_whenParsingItsToken() {
+        Cursor<Instant, String> cursor = new Cursor<>(Instant.parse("2017-01-01T12:00:00Z"), "d5666c5a-df28-49be-b511-cfd58d0867cf");
+
+        assertThat(Cursor.parse(cursor.token(), Instant.class, String.class)).isEqualTo(cursor);
+    }
+
+    @Test
+    public void shouldBuildAnUrlSafeToken() {
+        Cursor<String, Long> cursor = new Cursor<>("some label/with?special&characters", 42L);
+
+        assertThat(cursor.token()).matches("[a-zA-Z0-9_\\-.]*");
+    }
+
+    @Test
+    public void shouldThrowException_whenParsingAMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.parse("notACursor", Instant.class, String.class));
+    }
+
+    @Test
+    public void shouldThrowException_whenParsingATokenOfAnotherType() {
+        String token = new Cursor<>("label", "id").token();
+
+        assertThrows(IllegalArgumentException.class, () -> Cursor.parse(token, Instant.class, String.class));
+    }
+
+    @Test
+    public void shouldThrowException_whenSortValueIsNull() {
+        assertThrows(NullPointerException.class, () -> new Cursor<>(null, "id"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.blebail.components.persistence.resource.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InListChunksTest {
+
+    @Test
+    public void shouldReturnNoChunk_whenIdsAreNull() {
+        assertThat(InListChunks.of(null)).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnNoChunk_whenIdsAreOnlyNulls() {
+        assertThat(InListChunks.of(Arrays.asList(null, null))).isEmpty();
+    }
+
+    @Test
+    public void shouldPadChunkWithLastIdUpToBucketSize() {
+        List<List<String>> chunks = InListChunks.of(List.of("1", "2", "3", "4", "5"));
+
+        assertThat(chunks).containsExactly(List.of(
+                "1", "2", "3", "4", "5", "5", "5", "5",
+                "5", "5", "5", "5", "5", "5", "5", "5"));
+    }
+
+    @Test
+    public void shouldRemoveDuplicateIds() {
+        List<List<String>> chunks = InListChunks.of(List.of("1", "1", "2", "2"));
+
+        assertThat(chunks).containsExactly(List.of("1", "2", "2", "2"));
+    }
+
+    @Test
+    public void shouldSplitIdsInChunksOfMaxSize() {
+        List<Integer> ids = IntStream.range(0, InListChunks.MAX_CHUNK_SIZE + 2).boxed().collect(Collectors.toList());
+
+        List<List<Integer>> chunks = InListChunks.of(ids);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).hasSize(InListChunks.MAX_CHUNK_SIZE);
+        assertThat(chunks.get(1)).containsExactly(InListChunks.MAX_CHUNK_SIZE, InListChunks.MAX_CHUNK_SIZE + 1, InListChunks.MAX_CHUNK_SIZE + 1, InListChunks.MAX_CHUNK_SIZE + 1);
+    }
+
+    @Test
+    public void shouldOnlyUseBucketSizes() {
+        for (int size = 1; size <= InListChunks.MAX_CHUNK_SIZE; size++) {
+            assertThat(InListChunks.BUCKET_SIZES).contains(InListChunks.bucketSize(size));
+        }
+    }
+}
@@ -4,6 +4,8 @@ package com.blebail.components.persistence.resource.repository;
 import com.blebail.components.persistence.fake.UuidSpringBaseRepository;
 import com.blebail.components.persistence.fixtures.JavaFixtures;
 import com.blebail.components.persistence.fixtures.UuidResourceRows;
+import com.blebail.components.persistence.resource.page.Cursor;
+import com.blebail.components.persistence.resource.page.Keyset;
 import com.blebail.components.persistence.sql.BUuidResource;
 import com.blebail.components.persistence.sql.QUuidResource;
 import com.blebail.junit.SqlFixture;
@@ -18,11 +20,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.inject.Inject;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,12 +42,96 @@ public class SpringBaseRepositoryIT {
     @Inject
     private UuidSpringBaseRepository tested;
 
+    @Inject
+    private TransactionTemplate transactionTemplate;
+
     @RegisterExtension
     public static SqlMemoryDb sqlMemoryDb = new SqlMemoryDb();
 
     @RegisterExtension
     public SqlFixture dbFixture = new SqlFixture(sqlMemoryDb::dataSource, JavaFixtures.uuidResources());
 
+    @Test
+    public void shouldFindFirstRowsInKeysetOrder_whenFindingAfterNoCursor() {
+        dbFixture.readOnly();
+
+        List<BUuidResource> rows = tested.findAfter(null, creationDateKeyset(Sort.Direction.ASC), null, 2);
+
+        assertThat(rows).usingFieldByFieldElementComparator().containsExactly(UuidResourceRows.uuidResource1(), UuidResourceRows.uuidResource2());
+    }
+
+    @Test
+    public void shouldFindRowsFollowingTheCursor_whenFindingAfterCursor() {
+        dbFixture.readOnly();
+
+        BUuidResource lastRow = UuidResourceRows.uuidResource2();
+        Cursor<Instant, String> cursor = new Cursor<>(lastRow.getCreationDate(), lastRow.getUuid());
+
+        List<BUuidResource> rows = tested.findAfter(null, creationDateKeyset(Sort.Direction.ASC), cursor, 2);
+
+        assertThat(rows).usingFieldByFieldElementComparator().containsExactly(UuidResourceRows.uuidResource3(), UuidResourceRows.uuidResource4());
+    }
+
+    @Test
+    public void shouldFindRowsFollowingTheCursorInDescendingOrder_whenFindingAfterCursorWithDescendingKeyset() {
+        dbFixture.readOnly();
+
+        BUuidResource lastRow = UuidResourceRows.uuidResource3();
+        Cursor<Instant, String> cursor = new Cursor<>(lastRow.getCreationDate(), lastRow.getUuid());
+
+        List<BUuidResource> rows = tested.findAfter(null, creationDateKeyset(Sort.Direction.DESC), cursor, 10);
+
+        assertThat(rows).usingFieldByFieldElementComparator().containsExactly(UuidResourceRows.uuidResource2(), UuidResourceRows.uuidResource1());
+    }
+
+    @Test
+    public void shouldFindRowsFollowingTheCursorAndMatchingPredicate_whenFindingAfterCursorWithPredicate() {
+        dbFixture.readOnly();
+
+        BUuidResource lastRow = UuidResourceRows.uuidResource1();
+        Cursor<Instant, String> cursor = new Cursor<>(lastRow.getCreationDate(), lastRow.getUuid());
+        Predicate predicate = QUuidResource.uuidResource.label.ne(UuidResourceRows.uuidResource3().getLabel());
+
+        List<BUuidResource> rows = tested.findAfter(predicate, creationDateKeyset(Sort.Direction.ASC), cursor, 10);
+
+        assertThat(rows).usingFieldByFieldElementComparator().containsExactly(UuidResourceRows.uuidResource2(), UuidResourceRows.uuidResource4());
+    }
+
+    @Test
+    public void shouldConsumeEveryRowMatchingPredicate_whenConsumingRows() {
+        dbFixture.readOnly();
+
+        Predicate predicate = QUuidResource.uuidResource.label.ne(UuidResourceRows.uuidResource3().getLabel());
+        List<BUuidResource> rows = new ArrayList<>();
+
+        tested.forEach(predicate, 2, rows::add);
+
+        assertThat(rows).usingFieldByFieldElementComparator().containsOnly(
+                UuidResourceRows.uuidResource1(),
+                UuidResourceRows.uuidResource2(),
+                UuidResourceRows.uuidResource4());
+    }
+
+    @Test
+    public void shouldStreamEveryRow_whenStreamingRowsWithinATransaction() {
+        dbFixture.readOnly();
+
+        List<BUuidResource> rows = transactionTemplate.execute(status -> {
+            try (Stream<BUuidResource> rowStream = tested.stream(null, 2)) {
+                return rowStream.collect(Collectors.toList());
+            }
+        });
+
+        assertThat(rows).hasSize((int) countRows());
+    }
+
+    @Test
+    public void shouldThrowException_whenStreamingRowsOutsideOfATransaction() {
+        dbFixture.readOnly();
+
+        assertThrows(IllegalTransactionStateException.class, () -> tested.stream(null, 2));
+    }
+
     @Test
     public void shouldCountResources() {
         dbFixture.readOnly();
@@ -244,4 +336,13 @@ public class SpringBaseRepositoryIT {
                 .from(QUuidResource.uuidResource)
                 .fetchCount();
     }
+
+    private Keyset<BUuidResource, Instant, String> creationDateKeyset(Sort.Direction direction) {
+        return new Keyset<>(
+                QUuidResource.uuidResource.creationDate,
+                BUuidResource::getCreationDate,
+                QUuidResource.uuidResource.uuid,
+                BUuidResource::getUuid,
+                direction);
+    }
 }
@@ -17,6 +17,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import javax.inject.Inject;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -25,6 +26,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -97,6 +99,27 @@ class SpringCrudRepositoryIT {
         assertThat(returnedUuidEntities).usingFieldByFieldElementComparator().containsOnly(newUuuidPersistentResource1, newUuuidPersistentResource2);
     }
 
+    @Test
+    void shouldInsertResourcesInSeveralBatches() {
+        List<BUuidResource> newUuidEntities = List.of(
+                new BUuidResource(Instant.now(), "label101", UUID.randomUUID().toString()),
+                new BUuidResource(Instant.now(), "label102", UUID.randomUUID().toString()),
+                new BUuidResource(Instant.now(), "label103", UUID.randomUUID().toString()));
+
+        long uuidPersistentResourceCountBeforeCreate = countRows();
+
+        long insertedCount = tested.insert(newUuidEntities, 2);
+
+        assertThat(insertedCount).isEqualTo(newUuidEntities.size());
+        assertThat(countRows()).isEqualTo(uuidPersistentResourceCountBeforeCreate + newUuidEntities.size());
+        assertThat(tested.findOne(newUuidEntities.get(2).getUuid()).get()).isEqualToComparingFieldByField(newUuidEntities.get(2));
+    }
+
+    @Test
+    void shouldThrowException_whenInsertingWithBatchSizeOfZero() {
+        assertThrows(IllegalArgumentException.class, () -> tested.insert(List.of(), 0));
+    }
+
     @Test
     void shouldUpdateAResource() {
         BUuidResource resourceToUpdate = new BUuidResource(Instant.now(), "newLabel", UuidResourceLibrary.uuidResource1().id());
@@ -108,6 +131,29 @@ class SpringCrudRepositoryIT {
         assertThat(updatedResource.get()).isEqualToComparingFieldByField(resourceToUpdate);
     }
 
+    @Test
+    void shouldUpdateAnExistingResourceInPlace() {
+        BUuidResource resourceToUpdate = new BUuidResource(Instant.now(), "newLabel", UuidResourceLibrary.uuidResource1().id());
+        long uuidPersistentResourceCountBeforeUpdate = countRows();
+
+        boolean updated = tested.update(resourceToUpdate);
+
+        assertThat(updated).isTrue();
+        assertThat(countRows()).isEqualTo(uuidPersistentResourceCountBeforeUpdate);
+        assertThat(tested.findOne(resourceToUpdate.getUuid()).get()).isEqualToComparingFieldByField(resourceToUpdate);
+    }
+
+    @Test
+    void shouldNotUpdateANonExistingResource() {
+        BUuidResource nonExistingResource = new BUuidResource(Instant.now(), "newLabel", UUID.randomUUID().toString());
+        long uuidPersistentResourceCountBeforeUpdate = countRows();
+
+        boolean updated = tested.update(nonExistingResource);
+
+        assertThat(updated).isFalse();
+        assertThat(countRows()).isEqualTo(uuidPersistentResourceCountBeforeUpdate);
+    }
+
     @Test
     void shouldReturnTheUpdatedResource() {
         BUuidResource resourceToUpdate = new BUuidResource(Instant.now(), "newLabel", UuidResourceLibrary.uuidResource1().id());
@@ -246,6 +292,22 @@ class SpringCrudRepositoryIT {
                 .containsOnly(UuidResourceRows.uuidResource1(), UuidResourceRows.uuidResource2());
     }
 
+    @Test
+    void shouldFindResources_whenFindingMoreIdsThanAChunkCanHold() {
+        dbFixture.readOnly();
+
+        List<String> uuidPersistentResourceIds = new ArrayList<>();
+        IntStream.range(0, 1500).forEach(i -> uuidPersistentResourceIds.add(UUID.randomUUID().toString()));
+        uuidPersistentResourceIds.add(UuidResourceRows.uuidResource1().getUuid());
+        uuidPersistentResourceIds.add(UuidResourceRows.uuidResource2().getUuid());
+
+        Collection<BUuidResource> uuidEntities = tested.find(uuidPersistentResourceIds);
+
+        assertThat(uuidEntities)
+                .usingFieldByFieldElementComparator()
+                .containsOnly(UuidResourceRows.uuidResource1(), UuidResourceRows.uuidResource2());
+    }
+
     @Test
     void shouldReturnFalse_whenDeletingNonExistingResource() {
         assertThat(tested.delete("96846846-4465")).isFalse();
@@ -350,6 +412,20 @@ class SpringCrudRepositoryIT {
         assertThat(uuidPersistentResourceCountAfterDelete).isEqualTo(uuidPersistentResourceCountBeforeDelete - 2);
     }
 
+    @Test
+    void shouldDeleteResources_whenDeletingMoreIdsThanAChunkCanHold() {
+        List<String> uuidPersistentResourceIds = new ArrayList<>();
+        IntStream.range(0, 1500).forEach(i -> uuidPersistentResourceIds.add(UUID.randomUUID().toString()));
+        uuidPersistentResourceIds.add(UuidResourceRows.uuidResource1().getUuid());
+        uuidPersistentResourceIds.add(UuidResourceRows.uuidResource2().getUuid());
+        long uuidPersistentResourceCountBeforeDelete = countRows();
+
+        boolean deleted = tested.delete(uuidPersistentResourceIds);
+
+        assertThat(deleted).isTrue();
+        assertThat(countRows()).isEqualTo(uuidPersistentResourceCountBeforeDelete - 2);
+    }
+
     private long countRows() {
         return Factories.defaultQueryFactory(sqlMemoryDb.dataSource())
                 .select(QUuidResource.uuidResource)
@@ -3,23 +3,37 @@ package com.blebail.components.persistence.resource.service;
 import com.blebail.components.persistence.fake.UuidBaseService;
 import com.blebail.components.persistence.fake.UuidResource;
 import com.blebail.components.persistence.fake.UuidResourceConversion;
-import com.blebail.components.persistence.fake.UuidCrudRepository;
+import com.blebail.components.persistence.fake.UuidSpringBaseRepository;
 import com.blebail.components.persistence.library.UuidResourceLibrary;
+import com.blebail.components.persistence.resource.page.Cursor;
+import com.blebail.components.persistence.resource.page.Keyset;
+import com.blebail.components.persistence.resource.page.KeysetPage;
 import com.blebail.components.persistence.sql.BUuidResource;
 import com.blebail.components.persistence.sql.QUuidResource;
 import com.blebail.querydsl.crud.commons.page.Page;
 import com.blebail.querydsl.crud.commons.page.PageRequest;
 import com.blebail.querydsl.crud.commons.page.Sort;
+import com.blebail.querydsl.crud.sync.repository.BaseRepository;
 import com.querydsl.core.types.Predicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -28,14 +42,14 @@ public class BaseServiceTest {
 
     private UuidResourceConversion conversion;
 
-    private UuidCrudRepository repositoryMock;
+    private UuidSpringBaseRepository repositoryMock;
 
     private UuidBaseService tested;
 
     @BeforeEach
     public void setUp() {
         conversion = new UuidResourceConversion();
-        repositoryMock = mock(UuidCrudRepository.class);
+        repositoryMock = mock(UuidSpringBaseRepository.class);
         tested = new UuidBaseService(repositoryMock);
     }
 
@@ -129,4 +143,97 @@ public class BaseServiceTest {
         tested.delete(predicate);
         verify(repositoryMock).delete(predicate);
     }
+
+    @Test
+    public void shouldReturnPageWithNextCursor_whenMoreResourcesFollowThePage() {
+        Keyset<UuidResource, Instant, String> keyset = Keyset.byCreationDate(
+                QUuidResource.uuidResource.creationDate, QUuidResource.uuidResource.uuid, Sort.Direction.ASC);
+
+        doReturn(List.of(
+                conversion.to(UuidResourceLibrary.uuidResource1()),
+                conversion.to(UuidResourceLibrary.uuidResource2()),
+                conversion.to(UuidResourceLibrary.uuidResource3())))
+                .when(repositoryMock).findAfter(null, keyset, null, 3L);
+
+        KeysetPage<UuidResource> page = tested.find(null, keyset, null, 2);
+
+        assertThat(page.items()).containsExactly(UuidResourceLibrary.uuidResource1(), UuidResourceLibrary.uuidResource2());
+        assertThat(page.nextCursor()).contains(keyset.cursorAfter(UuidResourceLibrary.uuidResource2()).token());
+    }
+
+    @Test
+    public void shouldReturnPageWithoutNextCursor_whenNoResourceFollowsThePage() {
+        Keyset<UuidResource, Instant, String> keyset = Keyset.byCreationDate(
+                QUuidResource.uuidResource.creationDate, QUuidResource.uuidResource.uuid, Sort.Direction.ASC);
+        UuidResource lastResource = UuidResourceLibrary.uuidResource3();
+        Cursor<Instant, String> cursor = keyset.cursorAfter(lastResource);
+
+        doReturn(List.of(conversion.to(UuidResourceLibrary.uuidResource4())))
+                .when(repositoryMock).findAfter(null, keyset, cursor, 3L);
+
+        KeysetPage<UuidResource> page = tested.find(null, keyset, cursor.token(), 2);
+
+        assertThat(page.items()).containsExactly(UuidResourceLibrary.uuidResource4());
+        assertThat(page.nextCursor()).isEmpty();
+    }
+
+    @Test
+    public void shouldThrowException_whenFindingKeysetPageWithInvalidCursor() {
+        Keyset<UuidResource, Instant, String> keyset = Keyset.byCreationDate(
+                QUuidResource.uuidResource.creationDate, QUuidResource.uuidResource.uuid, Sort.Direction.ASC);
+
+        assertThrows(IllegalArgumentException.class, () -> tested.find(null, keyset, "notACursor", 2));
+    }
+
+    @Test
+    public void shouldConvertRows_whenStreamingResources() {
+        Predicate predicate = QUuidResource.uuidResource.uuid.isNotNull();
+
+        doReturn(Stream.of(conversion.to(UuidResourceLibrary.uuidResource1()), conversion.to(UuidResourceLibrary.uuidResource2())))
+                .when(repositoryMock).stream(eq(predicate), anyInt());
+
+        List<UuidResource> streamedUuidEntities = tested.stream(predicate).collect(Collectors.toList());
+
+        assertThat(streamedUuidEntities).containsExactly(UuidResourceLibrary.uuidResource1(), UuidResourceLibrary.uuidResource2());
+    }
+
+    @Test
+    public void shouldConsumeConvertedRows_whenConsumingResources() {
+        Predicate predicate = QUuidResource.uuidResource.uuid.isNotNull();
+
+        doAnswer(invocation -> {
+            Consumer<BUuidResource> rowConsumer = invocation.getArgument(2);
+            rowConsumer.accept(conversion.to(UuidResourceLibrary.uuidResource1()));
+            rowConsumer.accept(conversion.to(UuidResourceLibrary.uuidResource2()));
+            return null;
+        }).when(repositoryMock).forEach(eq(predicate), anyInt(), any(Consumer.class));
+
+        List<UuidResource> consumedUuidEntities = new ArrayList<>();
+        tested.forEach(predicate, consumedUuidEntities::add);
+
+        assertThat(consumedUuidEntities).containsExactly(UuidResourceLibrary.uuidResource1(), UuidResourceLibrary.uuidResource2());
+    }
+
+    @Test
+    public void shouldStreamFoundResources_whenRepositoryIsNotScrollable() {
+        BaseRepository<BUuidResource> plainRepositoryMock = mock(BaseRepository.class);
+        BaseService<UuidResource, BUuidResource, String, BaseRepository<BUuidResource>> plainTested =
+                new BaseService<>(plainRepositoryMock, conversion) {};
+        Predicate predicate = QUuidResource.uuidResource.uuid.isNotNull();
+
+        doReturn(List.of(conversion.to(UuidResourceLibrary.uuidResource1()))).when(plainRepositoryMock).find(predicate);
+
+        assertThat(plainTested.stream(predicate)).containsExactly(UuidResourceLibrary.uuidResource1());
+    }
+
+    @Test
+    public void shouldThrowException_whenFindingKeysetPageWithRepositoryThatIsNotScrollable() {
+        BaseRepository<BUuidResource> plainRepositoryMock = mock(BaseRepository.class);
+        BaseService<UuidResource, BUuidResource, String, BaseRepository<BUuidResource>> plainTested =
+                new BaseService<>(plainRepositoryMock, conversion) {};
+        Keyset<UuidResource, Instant, String> keyset = Keyset.byCreationDate(
+                QUuidResource.uuidResource.creationDate, QUuidResource.uuidResource.uuid, Sort.Direction.ASC);
+
+        assertThrows(IllegalStateException.class, () -> plainTested.find(null, keyset, null, 2));
+    }
 }
@@ -0,0 +1,147 @@
+package com.blebail.components.persistence.resource.service;
+
+import com.blebail.components.persistence.fake.UuidResource;
+import com.blebail.components.persistence.fake.UuidResourceService;
+import com.blebail.components.persistence.library.UuidResourceLibrary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BatchLoaderTest {
+
+    private UuidResourceService serviceMock = mock(UuidResourceService.class);
+
+    private ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private BatchLoader<UuidResource, String> tested;
+
+    @AfterEach
+    public void tearDown() {
+        if (tested != null) {
+            tested.close();
+        }
+
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldThrowException_whenBatchSizeIsZero() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(serviceMock, Duration.ofMillis(10), 0, executor));
+    }
+
+    @Test
+    public void shouldFindResourcesOnce_whenLoadingResourcesWithinTheWindow() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(50), 100, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+        UuidResource uuidResource2 = UuidResourceLibrary.uuidResource2();
+
+        doReturn(List.of(uuidResource1, uuidResource2)).when(serviceMock).find(any(Collection.class));
+
+        CompletableFuture<UuidResource> loadedUuidResource1 = tested.load(uuidResource1.id());
+        CompletableFuture<UuidResource> loadedUuidResource2 = tested.load(uuidResource2.id());
+
+        assertThat(loadedUuidResource1.join()).isEqualTo(uuidResource1);
+        assertThat(loadedUuidResource2.join()).isEqualTo(uuidResource2);
+        verify(serviceMock, times(1)).find(Set.of(uuidResource1.id(), uuidResource2.id()));
+    }
+
+    @Test
+    public void shouldReturnTheSameFuture_whenLoadingTheSameResourceTwiceWithinTheWindow() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(50), 100, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+
+        doReturn(List.of(uuidResource1)).when(serviceMock).find(any(Collection.class));
+
+        assertThat(tested.load(uuidResource1.id())).isSameAs(tested.load(uuidResource1.id()));
+    }
+
+    @Test
+    public void shouldFindResourcesWithoutWaitingForTheWindow_whenBatchSizeIsReached() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofHours(1), 2, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+        UuidResource uuidResource2 = UuidResourceLibrary.uuidResource2();
+
+        doReturn(List.of(uuidResource1, uuidResource2)).when(serviceMock).find(any(Collection.class));
+
+        CompletableFuture<UuidResource> loadedUuidResource1 = tested.load(uuidResource1.id());
+        tested.load(uuidResource2.id());
+
+        assertThat(loadedUuidResource1.join()).isEqualTo(uuidResource1);
+    }
+
+    @Test
+    public void shouldThrowException_whenFindingNonExistingResource() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(10), 100, executor);
+
+        doReturn(List.of()).when(serviceMock).find(any(Collection.class));
+
+        assertThrows(NoSuchElementException.class, () -> tested.findOne("654684-64684"));
+    }
+
+    @Test
+    public void shouldFailEveryLoadOfTheBatch_whenFindingResourcesFails() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(10), 100, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+
+        doThrow(IllegalStateException.class).when(serviceMock).find(any(Collection.class));
+
+        assertThrows(IllegalStateException.class, () -> tested.findOne(uuidResource1.id()));
+    }
+
+    @Test
+    public void shouldFailEveryLoadOfTheBatch_whenFindingResourcesThrowsAnError() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(10), 100, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+
+        doThrow(AssertionError.class).when(serviceMock).find(any(Collection.class));
+
+        CompletionException error = assertThrows(CompletionException.class, () -> tested.load(uuidResource1.id()).join());
+        assertThat(error).hasCauseInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    public void shouldThrowException_whenLoadingNullId() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(10), 100, executor);
+
+        assertThrows(IllegalArgumentException.class, () -> tested.load(null));
+    }
+
+    @Test
+    public void shouldFailLoad_whenLoaderIsClosed() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofMillis(10), 100, executor);
+        tested.close();
+
+        assertThrows(IllegalStateException.class, () -> tested.findOne(UuidResourceLibrary.uuidResource1().id()));
+    }
+
+    @Test
+    public void shouldDispatchPendingLoads_whenClosing() {
+        tested = new BatchLoader<>(serviceMock, Duration.ofHours(1), 100, executor);
+        UuidResource uuidResource1 = UuidResourceLibrary.uuidResource1();
+
+        doReturn(List.of(uuidResource1)).when(serviceMock).find(any(Collection.class));
+
+        CompletableFuture<UuidResource> loadedUuidResource1 = tested.load(uuidResource1.id());
+        tested.close();
+
+        assertThat(loadedUuidResource1.join()).isEqualTo(uuidResource1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.blebail.components.persistence.resource.service;
+
+import com.blebail.components.persistence.fake.UuidBoundedCachedService;
+import com.blebail.components.persistence.fake.UuidCrudRepository;
+import com.blebail.components.persistence.fake.UuidResource;
+import com.blebail.components.persistence.fake.UuidResourceConversion;
+import com.blebail.components.persistence.library.UuidResourceLibrary;
+import com.blebail.components.persistence.sql.BUuidResource;
+import com.blebail.components.persistence.sql.QUuidResource;
+import com.querydsl.core.types.Predicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BoundedCachedServiceTest {
+
+    private UuidResourceConversion conversion = new UuidResourceConversion();
+
+    private UuidCrudRepository repositoryMock = mock(UuidCrudRepository.class);
+
+    private UuidBoundedCachedService tested;
+
+    @BeforeEach
+    public void setUp() {
+        tested = new UuidBoundedCachedService(repositoryMock);
+    }
+
+    @Test
+    public void shouldNotHitTheDatabaseTwiceAndReturnResource_whenFindingResourceTwice() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Optional.of(conversion.to(existingUuidEntity))).when(repositoryMock).findOne(existingUuidEntity.id());
+
+        tested.findOne(existingUuidEntity.id());
+        UuidResource foundUuidEntity = tested.findOne(existingUuidEntity.id());
+
+        assertThat(foundUuidEntity).isEqualTo(existingUuidEntity);
+        verify(repositoryMock, times(1)).findOne(existingUuidEntity.id());
+    }
+
+    @Test
+    public void shouldThrowException_whenResourceIdDoesntExist() {
+        doReturn(Optional.empty()).when(repositoryMock).findOne("654684-64684");
+
+        assertThrows(NoSuchElementException.class, () -> tested.findOne("654684-64684"));
+    }
+
+    @Test
+    public void shouldOnlyFindMissingResources_whenFindingResources() {
+        UuidResource uuidEntity1 = UuidResourceLibrary.uuidResource1();
+        UuidResource uuidEntity2 = UuidResourceLibrary.uuidResource2();
+
+        doReturn(Optional.of(conversion.to(uuidEntity1))).when(repositoryMock).findOne(uuidEntity1.id());
+        doReturn(List.of(conversion.to(uuidEntity2))).when(repositoryMock).find(Set.of(uuidEntity2.id()));
+
+        tested.findOne(uuidEntity1.id());
+        Collection<UuidResource> foundUuidEntities = tested.find(List.of(uuidEntity1.id(), uuidEntity2.id()));
+
+        assertThat(foundUuidEntities).containsOnly(uuidEntity1, uuidEntity2);
+        verify(repositoryMock).find(Set.of(uuidEntity2.id()));
+    }
+
+    @Test
+    public void shouldNotHitTheDatabase_whenFindingCreatedResource() {
+        UuidResource newUuidEntity = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label100");
+
+        doReturn(conversion.to(newUuidEntity)).when(repositoryMock).save(any(BUuidResource.class));
+
+        tested.create(newUuidEntity);
+
+        assertThat(tested.findOne(newUuidEntity.id())).isEqualTo(newUuidEntity);
+        assertThat(tested.exists(newUuidEntity.id())).isTrue();
+        verify(repositoryMock, never()).findOne(newUuidEntity.id());
+    }
+
+    @Test
+    public void shouldReturnUpdatedResource_whenFindingUpdatedResource() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+        UuidResource updatedUuidEntity = new UuidResource(existingUuidEntity.id(), existingUuidEntity.creationDate(), "updatedLabel");
+
+        doReturn(Optional.of(conversion.to(existingUuidEntity))).when(repositoryMock).findOne(existingUuidEntity.id());
+        doReturn(true).when(repositoryMock).update(any(BUuidResource.class));
+
+        tested.findOne(existingUuidEntity.id());
+        tested.update(updatedUuidEntity);
+
+        assertThat(tested.findOne(existingUuidEntity.id()).label).isEqualTo("updatedLabel");
+        verify(repositoryMock, times(1)).findOne(existingUuidEntity.id());
+    }
+
+    @Test
+    public void shouldHitTheDatabase_whenFindingDeletedResource() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Optional.of(conversion.to(existingUuidEntity))).when(repositoryMock).findOne(existingUuidEntity.id());
+        doReturn(true).when(repositoryMock).delete(existingUuidEntity.id());
+
+        tested.findOne(existingUuidEntity.id());
+        tested.delete(existingUuidEntity.id());
+        doReturn(Optional.empty()).when(repositoryMock).findOne(existingUuidEntity.id());
+
+        assertThrows(NoSuchElementException.class, () -> tested.findOne(existingUuidEntity.id()));
+    }
+
+    @Test
+    public void shouldHitTheDatabase_whenFindingResourceDeletedByPredicate() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Optional.of(conversion.to(existingUuidEntity))).when(repositoryMock).findOne(existingUuidEntity.id());
+        doReturn(true).when(repositoryMock).delete(any(Predicate.class));
+
+        tested.findOne(existingUuidEntity.id());
+        tested.delete(QUuidResource.uuidResource.id.eq(existingUuidEntity.id()));
+        doReturn(Optional.empty()).when(repositoryMock).findOne(existingUuidEntity.id());
+
+        assertThrows(NoSuchElementException.class, () -> tested.findOne(existingUuidEntity.id()));
+    }
+
+    @Test
+    public void shouldHitTheDatabaseAgain_whenCacheIsInvalidated() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Optional.of(conversion.to(existingUuidEntity))).when(repositoryMock).findOne(existingUuidEntity.id());
+
+        tested.findOne(existingUuidEntity.id());
+        tested.invalidate();
+        tested.findOne(existingUuidEntity.id());
+
+        verify(repositoryMock, times(2)).findOne(existingUuidEntity.id());
+    }
+}
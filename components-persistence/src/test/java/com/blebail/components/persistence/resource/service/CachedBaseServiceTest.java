@@ -6,20 +6,29 @@ import com.blebail.components.persistence.fake.UuidResourceConversion;
 import com.blebail.components.persistence.fake.UuidCrudRepository;
 import com.blebail.components.persistence.library.UuidResourceLibrary;
 import com.blebail.components.persistence.sql.BUuidResource;
+import com.blebail.components.persistence.sql.QUuidResource;
+import com.querydsl.core.types.Predicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -60,21 +69,32 @@ public class CachedBaseServiceTest {
     }
 
     @Test
-    public void shouldCallRepositorySaveAndReturnResources_whenCreatingResources() {
+    public void shouldCallRepositoryInsertAndReturnResources_whenCreatingResources() {
         UuidResource newUuidEntity1 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label101");
         UuidResource newUuidEntity2 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label102");
 
         List<UuidResource> newUuidEntites = Arrays.asList(newUuidEntity1, newUuidEntity2);
 
-        doReturn(conversion.to(newUuidEntites)).when(repositoryMock).save(any(Collection.class));
+        doReturn(2L).when(repositoryMock).insert(any(Collection.class), anyInt());
 
         Collection<UuidResource> createdUuidEntities = tested.create(newUuidEntites);
 
-        verify(repositoryMock).save(any(Collection.class));
+        verify(repositoryMock).insert(any(Collection.class), anyInt());
 
         assertThat(createdUuidEntities).containsOnly(newUuidEntity1, newUuidEntity2);
     }
 
+    @Test
+    public void shouldCallRepositoryInsertAndReturnCount_whenCreatingAndCountingResources() {
+        UuidResource newUuidEntity1 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label101");
+        UuidResource newUuidEntity2 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label102");
+
+        doReturn(2L).when(repositoryMock).insert(any(Collection.class), anyInt());
+
+        assertThat(tested.createAndCount(Arrays.asList(newUuidEntity1, newUuidEntity2))).isEqualTo(2L);
+        verify(repositoryMock).insert(any(Collection.class), anyInt());
+    }
+
     @Test
     public void shouldCheckThatNullDoesntExist() {
         assertThat(tested.exists(null)).isFalse();
@@ -145,6 +165,32 @@ public class CachedBaseServiceTest {
         verify(repositoryMock, times(1)).findAll();
     }
 
+    @Test
+    public void shouldIgnoreNullIds_whenFindingResources() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Set.of(conversion.to(existingUuidEntity))).when(repositoryMock).findAll();
+
+        Collection<UuidResource> foundUuidEntities = tested.find(Arrays.asList(existingUuidEntity.id(), null));
+
+        assertThat(foundUuidEntities).containsOnly(existingUuidEntity);
+    }
+
+    @Test
+    public void shouldLoadTheCacheAgain_whenDeletingResourcesByPredicate() {
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(Set.of(conversion.to(existingUuidEntity))).when(repositoryMock).findAll();
+        doReturn(true).when(repositoryMock).delete(any(Predicate.class));
+
+        tested.findAll();
+        tested.delete(QUuidResource.uuidResource.id.eq(existingUuidEntity.id()));
+        doReturn(Set.of()).when(repositoryMock).findAll();
+
+        assertThat(tested.exists(existingUuidEntity.id())).isFalse();
+        verify(repositoryMock, times(2)).findAll();
+    }
+
     @Test
     public void shouldReturnAllResources_whenFindingAllResources() {
         Collection<UuidResource> allUuidEntities = Arrays.asList(
@@ -217,6 +263,64 @@ public class CachedBaseServiceTest {
         verify(repositoryMock, times(1)).findAll();
     }
 
+    @Test
+    public void shouldNotHitTheDatabaseTwice_whenTableIsEmpty() {
+        doReturn(Set.of()).when(repositoryMock).findAll();
+
+        tested.count();
+        tested.exists("654684-64684");
+
+        verify(repositoryMock, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldHitTheDatabaseOnce_whenReadingConcurrentlyAnEmptyCache() throws Exception {
+        doAnswer(invocation -> {
+            Thread.sleep(50);
+            return Set.of(conversion.to(UuidResourceLibrary.uuidResource1()));
+        }).when(repositoryMock).findAll();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Boolean>> readers = Collections.nCopies(8, () -> tested.exists(UuidResourceLibrary.uuidResource1().id()));
+
+        List<Future<Boolean>> results = executor.invokeAll(readers);
+        executor.shutdown();
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        verify(repositoryMock, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldReplaceTheCache_whenInvalidating() {
+        doReturn(Set.of(conversion.to(UuidResourceLibrary.uuidResource1()))).when(repositoryMock).findAll();
+        tested.findAll();
+
+        doReturn(Set.of(conversion.to(UuidResourceLibrary.uuidResource2()))).when(repositoryMock).findAll();
+        tested.invalidate();
+
+        assertThat(tested.findAll()).containsOnly(UuidResourceLibrary.uuidResource2());
+        verify(repositoryMock, times(2)).findAll();
+    }
+
+    @Test
+    public void shouldKeepTheWrite_whenResourceIsDeletedWhileInvalidating() {
+        UuidResource deletedResource = UuidResourceLibrary.uuidResource1();
+        Set<BUuidResource> rows = Set.of(conversion.to(deletedResource), conversion.to(UuidResourceLibrary.uuidResource2()));
+        doReturn(rows).when(repositoryMock).findAll();
+        doReturn(true).when(repositoryMock).delete(deletedResource.id());
+        tested.findAll();
+
+        doAnswer(invocation -> {
+            tested.delete(deletedResource.id());
+            return rows;
+        }).when(repositoryMock).findAll();
+        tested.invalidate();
+
+        assertThat(tested.findAll()).containsOnly(UuidResourceLibrary.uuidResource2());
+    }
+
     @Test
     public void shouldThrowException_whenUpdatingNullResource() {
         UuidResource nullUuidEntity = null;
@@ -232,16 +336,15 @@ public class CachedBaseServiceTest {
     }
 
     @Test
-    public void shouldCallRepositorySaveWithResourceAndReturnResource_whenUpdatingResource() {
+    public void shouldCallRepositoryUpdateWithResourceAndReturnResource_whenUpdatingResource() {
         UuidResource exitingUuidEntity = UuidResourceLibrary.uuidResource1();
 
-        doReturn(true).when(repositoryMock).exists(exitingUuidEntity.id());
-        doReturn(conversion.to(exitingUuidEntity)).when(repositoryMock).save(any(BUuidResource.class));
+        doReturn(true).when(repositoryMock).update(any(BUuidResource.class));
         doReturn(Set.of(conversion.to(exitingUuidEntity))).when(repositoryMock).findAll();
 
         UuidResource updatedUuidEntity = tested.update(exitingUuidEntity);
 
-        verify(repositoryMock).save(any(BUuidResource.class));
+        verify(repositoryMock).update(any(BUuidResource.class));
         assertThat(updatedUuidEntity).isEqualTo(exitingUuidEntity);
     }
 
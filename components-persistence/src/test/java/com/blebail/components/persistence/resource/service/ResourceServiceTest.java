@@ -3,11 +3,19 @@ package com.blebail.components.persistence.resource.service;
 import com.blebail.components.persistence.fake.UuidResource;
 import com.blebail.components.persistence.fake.UuidResourceConversion;
 import com.blebail.components.persistence.fake.UuidCrudRepository;
+import com.blebail.components.persistence.fake.UuidPageCachedResourceService;
+import com.blebail.components.persistence.fake.UuidResourcePredicate;
 import com.blebail.components.persistence.fake.UuidResourceService;
 import com.blebail.components.persistence.library.UuidResourceLibrary;
 import com.blebail.components.persistence.sql.BUuidResource;
+import com.blebail.querydsl.crud.commons.page.Page;
+import com.blebail.querydsl.crud.commons.page.PageRequest;
+import com.blebail.querydsl.crud.commons.page.Sort;
+import com.blebail.querydsl.crud.sync.repository.CrudRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.util.Arrays;
@@ -15,15 +23,19 @@ import java.util.Collection;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class ResourceServiceTest {
@@ -61,21 +73,32 @@ public class ResourceServiceTest {
     }
 
     @Test
-    public void shouldCallRepositorySaveAndReturnResources_whenCreatingResources() {
+    public void shouldCallRepositoryInsertAndReturnResources_whenCreatingResources() {
         UuidResource newUuidEntity1 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label101");
         UuidResource newUuidEntity2 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label102");
 
         List<UuidResource> newUuidEntites = Arrays.asList(newUuidEntity1, newUuidEntity2);
 
-        doReturn(conversion.to(newUuidEntites)).when(repositoryMock).save(any(Collection.class));
+        doReturn(2L).when(repositoryMock).insert(any(Collection.class), anyInt());
 
         Collection<UuidResource> createdUuidEntities = tested.create(newUuidEntites);
 
-        verify(repositoryMock).save(any(Collection.class));
+        verify(repositoryMock).insert(any(Collection.class), anyInt());
 
         assertThat(createdUuidEntities).containsOnly(newUuidEntity1, newUuidEntity2);
     }
 
+    @Test
+    public void shouldCallRepositoryInsertAndReturnCount_whenCreatingAndCountingResources() {
+        UuidResource newUuidEntity1 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label101");
+        UuidResource newUuidEntity2 = new UuidResource(UUID.randomUUID().toString(), Instant.now(), "label102");
+
+        doReturn(2L).when(repositoryMock).insert(any(Collection.class), anyInt());
+
+        assertThat(tested.createAndCount(Arrays.asList(newUuidEntity1, newUuidEntity2))).isEqualTo(2L);
+        verify(repositoryMock).insert(any(Collection.class), anyInt());
+    }
+
     @Test
     public void shouldCheckThatNullDoesntExist() {
         assertThat(tested.exists(null)).isFalse();
@@ -180,18 +203,29 @@ public class ResourceServiceTest {
     }
 
     @Test
-    public void shouldCallRepositorySaveWithResourceAndReturnResource_whenUpdatingResource() {
+    public void shouldCallRepositoryUpdateWithResourceAndReturnResource_whenUpdatingResource() {
         UuidResource exitingUuidEntity = UuidResourceLibrary.uuidResource1();
 
-        doReturn(true).when(repositoryMock).exists(exitingUuidEntity.id());
-        doReturn(conversion.to(exitingUuidEntity)).when(repositoryMock).save(any(BUuidResource.class));
+        doReturn(true).when(repositoryMock).update(any(BUuidResource.class));
 
         UuidResource updatedUuidEntity = tested.update(exitingUuidEntity);
 
-        verify(repositoryMock).save(any(BUuidResource.class));
+        verify(repositoryMock).update(any(BUuidResource.class));
         assertThat(updatedUuidEntity).isEqualTo(exitingUuidEntity);
     }
 
+    @Test
+    public void shouldNotCheckExistenceNorSave_whenUpdatingResource() {
+        UuidResource exitingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(true).when(repositoryMock).update(any(BUuidResource.class));
+
+        tested.update(exitingUuidEntity);
+
+        verify(repositoryMock, never()).exists(exitingUuidEntity.id());
+        verify(repositoryMock, never()).save(any(BUuidResource.class));
+    }
+
     @Test
     public void shouldCallRepositorySaveWithMultipleResources_whenUpdatingResources() {
         Collection<UuidResource> existingUuidEntities = Arrays.asList(
@@ -251,4 +285,98 @@ public class ResourceServiceTest {
         tested.deleteAll();
         verify(repositoryMock).deleteAll();
     }
+
+    @Test
+    public void shouldNotHitTheDatabaseTwice_whenFindingTheSamePageTwiceWithPageCache() {
+        UuidPageCachedResourceService pageCachedTested = new UuidPageCachedResourceService(repositoryMock);
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("uuid", Sort.Direction.ASC)));
+        UuidResourcePredicate predicate = new UuidResourcePredicate("label1");
+
+        Page<BUuidResource> pageFake = new Page<>(List.of(conversion.to(UuidResourceLibrary.uuidResource1())), 1, 1);
+        doReturn(pageFake).when(repositoryMock).find(predicate.compute(), pageRequest);
+
+        pageCachedTested.find(Set.of(predicate), pageRequest);
+        Page<UuidResource> foundPage = pageCachedTested.find(Set.of(predicate), pageRequest);
+
+        assertThat(foundPage.items()).containsOnly(UuidResourceLibrary.uuidResource1());
+        verify(repositoryMock, times(1)).find(predicate.compute(), pageRequest);
+    }
+
+    @Test
+    public void shouldHitTheDatabaseAgain_whenFindingTheSamePageAfterAWriteWithPageCache() {
+        UuidPageCachedResourceService pageCachedTested = new UuidPageCachedResourceService(repositoryMock);
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("uuid", Sort.Direction.ASC)));
+
+        Page<BUuidResource> pageFake = new Page<>(List.of(conversion.to(UuidResourceLibrary.uuidResource1())), 1, 1);
+        doReturn(pageFake).when(repositoryMock).find(pageRequest);
+
+        pageCachedTested.find(pageRequest);
+        pageCachedTested.delete(UuidResourceLibrary.uuidResource2().id());
+        pageCachedTested.find(pageRequest);
+
+        verify(repositoryMock, times(2)).find(pageRequest);
+    }
+
+    @Test
+    public void shouldHitTheDatabaseAgain_whenFindingTheSamePageAfterAWriteTransactionCommitsWithPageCache() {
+        UuidPageCachedResourceService pageCachedTested = new UuidPageCachedResourceService(repositoryMock);
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("uuid", Sort.Direction.ASC)));
+
+        Page<BUuidResource> pageFake = new Page<>(List.of(conversion.to(UuidResourceLibrary.uuidResource1())), 1, 1);
+        doReturn(pageFake).when(repositoryMock).find(pageRequest);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            pageCachedTested.delete(UuidResourceLibrary.uuidResource2().id());
+            pageCachedTested.find(pageRequest);
+            pageCachedTested.find(pageRequest);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        pageCachedTested.find(pageRequest);
+
+        verify(repositoryMock, times(2)).find(pageRequest);
+    }
+
+    @Test
+    public void shouldHitTheDatabaseEveryTime_whenFindingTheSamePageTwiceWithoutPageCache() {
+        PageRequest pageRequest = new PageRequest(0, 10, List.of(new Sort("uuid", Sort.Direction.ASC)));
+
+        Page<BUuidResource> pageFake = new Page<>(List.of(conversion.to(UuidResourceLibrary.uuidResource1())), 1, 1);
+        doReturn(pageFake).when(repositoryMock).find(pageRequest);
+
+        tested.find(pageRequest);
+        tested.find(pageRequest);
+
+        verify(repositoryMock, times(2)).find(pageRequest);
+    }
+
+    @Test
+    public void shouldSaveExistingResource_whenUpdatingWithRepositoryThatIsNotBatching() {
+        CrudRepository<BUuidResource, String> plainRepositoryMock = mock(CrudRepository.class);
+        ResourceService<UuidResource, BUuidResource, String, CrudRepository<BUuidResource, String>> plainTested =
+                new ResourceService<>(plainRepositoryMock, conversion) {};
+        UuidResource existingUuidEntity = UuidResourceLibrary.uuidResource1();
+
+        doReturn(true).when(plainRepositoryMock).exists(existingUuidEntity.id());
+
+        assertThat(plainTested.update(existingUuidEntity)).isEqualTo(existingUuidEntity);
+        verify(plainRepositoryMock).save(any(BUuidResource.class));
+    }
+
+    @Test
+    public void shouldThrowException_whenUpdatingMissingResourceWithRepositoryThatIsNotBatching() {
+        CrudRepository<BUuidResource, String> plainRepositoryMock = mock(CrudRepository.class);
+        ResourceService<UuidResource, BUuidResource, String, CrudRepository<BUuidResource, String>> plainTested =
+                new ResourceService<>(plainRepositoryMock, conversion) {};
+
+        doReturn(false).when(plainRepositoryMock).exists(any(String.class));
+
+        assertThrows(NoSuchElementException.class, () -> plainTested.update(UuidResourceLibrary.uuidResource1()));
+        verify(plainRepositoryMock, never()).save(any(BUuidResource.class));
+    }
 }
@@ -87,10 +87,9 @@ public abstract class BaseController<V, T extends Persistable<ID>, ID, S extends
     @ResponseBody
     @Override
     public V update(@PathVariable ID resourceId, @RequestBody @Valid V resource) {
-        if (!service.exists(resourceId)) {
-            throw new NoSuchElementException();
-        }
-
+        // The view doesn't carry the creation date and the update writes every column, null ones included,
+        // so the existing resource is read to keep its creation date, its absence is the 404.
+        // The service then updates with a single statement, without checking the existence again.
         T existingResource = service.findOne(resourceId);
 
         return conversion.from(service.update(conversion.to(resource, existingResource.id(), existingResource.creationDate())));
@@ -104,11 +103,9 @@ public abstract class BaseController<V, T extends Persistable<ID>, ID, S extends
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Override
     public void delete(@PathVariable ID resourceId) {
-        if (!service.exists(resourceId)) {
+        if (!service.delete(resourceId)) {
             throw new NoSuchElementException();
         }
-
-        service.delete(resourceId);
     }
     
     /**